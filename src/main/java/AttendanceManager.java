@@ -10,25 +10,122 @@
 package com.mycompany.motorphpayrollsystem;
 
 import com.opencsv.CSVReader;
-import com.opencsv.CSVWriter;
-import com.opencsv.exceptions.CsvException;
 import com.opencsv.exceptions.CsvValidationException;
 import java.io.*;
 import java.time.LocalDate;
-import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.StampedLock;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.Stream;
 
-public class AttendanceManager {
+public class AttendanceManager implements AttendanceStore {
     private static AttendanceManager instance;
-    private List<AttendanceRecord> attendanceRecords;
-    private static final String attendanceCsv = "attendance.csv";
+    private final NavigableMap<YearMonth, List<AttendanceRecord>> recordsByMonth; // Records of every month loaded so far, a month is loaded once it has a key
+    private final Map<Integer, NavigableMap<LocalDate, AttendanceRecord>> recordsByEmployee; // Date-sorted records per employee, kept in sync with recordsByMonth
+    private final Map<Integer, NavigableMap<YearMonth, PeriodTotals>> totalsByEmployee; // Running totals of recordsByEmployee per month, see getSummary
+    private final AttendanceKeySet recordedDays; // (employee ID, date) keys for constant-time duplicate checks
+    private final NavigableSet<YearMonth> storedMonths; // Months with a partition file or journaled records, loaded or not
+    private final Map<YearMonth, int[]> partitionEmployees; // Employee IDs in each partition file, see hasRecords
+    private final List<AttendanceJournal.Entry> unfoldedChanges; // Changes not yet written to their partitions, in order
+    private final AttendancePartitions partitions;
+    private final AttendanceJournal journal; // Mutations since the partitions were last written
+    private final ExecutorService compactor;
+    private final AtomicBoolean compactionScheduled = new AtomicBoolean();
+    private final AtomicLong dataVersion = new AtomicLong(); // Bumped by every change to the records, see getDataVersion
     
-    AttendanceManager() {
-        attendanceRecords = new ArrayList<>();
+    // Lock order: compactionLock / flushLock, then lock, then journalLock
+    private final StampedLock lock = new StampedLock(); // Guards the records, their indexes and the write-behind queue
+    private final Object compactionLock = new Object();
+    private final Object journalLock = new Object(); // Serializes journal file access
+    private final Object flushLock = new Object(); // Keeps write-behind batches in queue order
+    private volatile ScheduledExecutorService flusher; // Only set in write-behind mode, never unset
+    private final List<PendingWrite> pendingWrites = new ArrayList<>(); // Changes applied in memory but not yet journaled
+    private int flushBatchSize;
+    private boolean flushRequested;
+    private static final String attendanceCsv = "attendance.csv"; // Single-file layout, migrated to attendanceDirectory on first start
+    private static final String attendanceDirectory = "attendance";
+    private static final String attendanceJournal = "attendance.journal";
+    private static final long JOURNAL_COMPACTION_THRESHOLD = 256 * 1024; // Bytes of journal before it is folded into the partitions
+    private static final YearMonth FIRST_MONTH = YearMonth.of(Year.MIN_VALUE, 1);
+    private static final YearMonth LAST_MONTH = YearMonth.of(Year.MAX_VALUE, 12);
+    static final String[] CSV_HEADER = {"Employee #", "Last Name", "First Name", "Date", "Log In", "Log Out"};
+    
+    // A queued journal entry and the future completed once it is on disk
+    private static class PendingWrite {
+        final AttendanceJournal.Entry entry;
+        final CompletableFuture<Boolean> durable;
+
+        PendingWrite(AttendanceJournal.Entry entry, CompletableFuture<Boolean> durable) {
+            this.entry = entry;
+            this.durable = durable;
+        }
+    }
+    
+    // Minutes worked and tardy of one employee in one month, updated as records are added and removed
+    private static class PeriodTotals {
+        long regularMinutes;
+        long overtimeMinutes;
+        long tardyMinutes;
+        int daysPresent;
+
+        void add(AttendanceRecord record, int sign) {
+            regularMinutes += sign * AttendanceSummary.regularMinutes(record);
+            overtimeMinutes += sign * AttendanceSummary.overtimeMinutes(record);
+            tardyMinutes += sign * AttendanceSummary.tardyMinutes(record);
+            daysPresent += sign;
+        }
+
+        void add(PeriodTotals other) {
+            regularMinutes += other.regularMinutes;
+            overtimeMinutes += other.overtimeMinutes;
+            tardyMinutes += other.tardyMinutes;
+            daysPresent += other.daysPresent;
+        }
+
+        AttendanceSummary toSummary() {
+            return new AttendanceSummary(regularMinutes, overtimeMinutes, tardyMinutes, daysPresent);
+        }
+    }
+    
+    private AttendanceManager() {
+        recordsByMonth = new TreeMap<>();
+        recordsByEmployee = new HashMap<>();
+        totalsByEmployee = new HashMap<>();
+        recordedDays = new AttendanceKeySet();
+        storedMonths = new TreeSet<>();
+        partitionEmployees = new HashMap<>();
+        unfoldedChanges = new ArrayList<>();
+        partitions = new AttendancePartitions(attendanceDirectory);
+        journal = new AttendanceJournal(attendanceJournal);
+        compactor = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "attendance-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
         loadAttendanceFromFile();
     }
     
@@ -40,117 +137,822 @@ public class AttendanceManager {
      }
      
     public AttendanceRecord getEmployeeById(int employeeId) {
-        for (AttendanceRecord record : attendanceRecords) {
-            if (record.getEmployeeId() == employeeId) {
-                return record;
+        ensureMonthsLoaded(FIRST_MONTH, LAST_MONTH);
+        long stamp = lock.readLock(); // Walks the HashMap and TreeMap index, which a writer may be resizing or rebalancing
+        try {
+            NavigableMap<LocalDate, AttendanceRecord> records = recordsByEmployee.get(employeeId);
+            if (records == null || records.isEmpty()) {
+                return null;
             }
+            return records.firstEntry().getValue();
+        } finally {
+            lock.unlockRead(stamp);
         }
-        return null;
     } 
+    
+    // True if the employee already has a record for that date.
+    // Read optimistically: AttendanceKeySet.contains probes one primitive array it reads once, with a bounded
+    // number of probes, so a racing writer can only make it return a wrong answer, which validate() then rejects.
+    public boolean hasAttendance(int employeeId, LocalDate date) {
+        long key = AttendanceKeySet.key(employeeId, date);
+        ensureMonthsLoaded(YearMonth.from(date), YearMonth.from(date));
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                boolean recorded = recordedDays.contains(key);
+                if (lock.validate(stamp)) {
+                    return recorded;
+                }
+            } catch (RuntimeException ex) {
+                // A writer resized the key set while we read it, read again under the lock
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return recordedDays.contains(key);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+    
+    // Adds a record to the per-employee index, its month's totals and the duplicate key set
+    private void indexRecord(AttendanceRecord record) {
+        recordedDays.add(AttendanceKeySet.key(record.getEmployeeId(), record.getDate()));
+        recordsByEmployee.computeIfAbsent(record.getEmployeeId(), id -> new TreeMap<>()).put(record.getDate(), record);
+        updateTotals(record, 1);
+    }
+    
+    // Adds (sign 1) or removes (sign -1) one record in its employee's totals for the month, O(1)
+    private void updateTotals(AttendanceRecord record, int sign) {
+        totalsByEmployee.computeIfAbsent(record.getEmployeeId(), id -> new TreeMap<>())
+                .computeIfAbsent(YearMonth.from(record.getDate()), month -> new PeriodTotals())
+                .add(record, sign);
+    }
+    
+    // Applies an add in memory only, returns false if that employee already has a record for the date.
+    // Loading a month replays stored records through here, so callers adding new data bump dataVersion themselves.
+    private boolean applyAdd(AttendanceRecord record) {
+        loadMonth(YearMonth.from(record.getDate())); // Checked against the rest of its month before it is added
+        if (recordedDays.contains(AttendanceKeySet.key(record.getEmployeeId(), record.getDate()))) {
+            return false;
+        }
+        recordsByMonth.get(YearMonth.from(record.getDate())).add(record);
+        indexRecord(record);
+        return true;
+    }
+    
+    // Reverts applyAdd when the record could not be journaled
+    private void undoAdd(AttendanceRecord record) {
+        dataVersion.incrementAndGet();
+        recordsByMonth.get(YearMonth.from(record.getDate())).remove(record);
+        recordedDays.remove(AttendanceKeySet.key(record.getEmployeeId(), record.getDate()));
+        NavigableMap<LocalDate, AttendanceRecord> records = recordsByEmployee.get(record.getEmployeeId());
+        if (records != null) {
+            records.remove(record.getDate());
+        }
+        updateTotals(record, -1);
+    }
+    
+    // Applies a delete to the loaded months, unloaded months apply it from unfoldedChanges when they load
+    private boolean applyDelete(int employeeId) {
+        NavigableMap<LocalDate, AttendanceRecord> employeeRecords = recordsByEmployee.remove(employeeId);
+        totalsByEmployee.remove(employeeId); // A delete drops all of the employee's records, so all of their totals
+        if (employeeRecords == null || employeeRecords.isEmpty()) {
+            return false;
+        }
+        Set<YearMonth> months = new HashSet<>();
+        for (LocalDate date : employeeRecords.keySet()) {
+            recordedDays.remove(AttendanceKeySet.key(employeeId, date));
+            months.add(YearMonth.from(date));
+        }
+        for (YearMonth month : months) {
+            recordsByMonth.get(month).removeIf(e -> e.getEmployeeId() == employeeId);
+        }
+        return true;
+    }
+    
+    // Applies a delete to memory once hasRecords has found records to delete. The caller holds the write lock.
+    private void applyTombstone(int employeeId) {
+        dataVersion.incrementAndGet(); // Also when only unloaded months hold the records, they drop them when they load
+        applyDelete(employeeId);
+    }
+    
+    /**
+     * True if the employee has records in any month, without loading the months not in memory:
+     * who is in their partitions comes from the partition index, and the unfolded changes are
+     * replayed for this employee on top. Only a partition missing from the index (e.g. edited by
+     * hand) is loaded to find out. The caller holds the write lock.
+     */
+    private boolean hasRecords(int employeeId) {
+        NavigableMap<LocalDate, AttendanceRecord> records = recordsByEmployee.get(employeeId);
+        if (records != null && !records.isEmpty()) { // Covers every loaded month
+            return true;
+        }
+        boolean unloaded = false; // In an unloaded month's partition
+        for (YearMonth month : new ArrayList<>(storedMonths)) {
+            if (recordsByMonth.containsKey(month)) {
+                continue;
+            }
+            int[] employeeIds = partitionEmployees.get(month);
+            if (employeeIds == null) {
+                loadMonth(month);
+                records = recordsByEmployee.get(employeeId);
+                if (records != null && !records.isEmpty()) {
+                    return true;
+                }
+            } else if (AttendancePartitions.contains(employeeIds, employeeId)) {
+                unloaded = true;
+            }
+        }
+        for (AttendanceJournal.Entry entry : unfoldedChanges) { // Loaded months already have these applied
+            if (entry.getEmployeeId() != employeeId) {
+                continue;
+            }
+            if (entry.getOp() == AttendanceJournal.OP_DELETE) {
+                unloaded = false;
+            } else if (!recordsByMonth.containsKey(YearMonth.from(entry.getRecord().getDate()))) {
+                unloaded = true;
+            }
+        }
+        return unloaded;
+    }
      
+    /**
+     * Prepares the monthly partitions in attendance/ (splitting attendance.csv into them the
+     * first time) and reads the journal. Records themselves are loaded a month at a time,
+     * when a query or change first touches that month.
+     * Throws UncheckedIOException, leaving attendance.csv and the loaded state as they were, if the split fails.
+     */
     public void loadAttendanceFromFile() {
-          try (CSVReader reader = new CSVReader(new FileReader(attendanceCsv))) {
-              DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("h:mm a"); 
-              String[] nextLine;
-              reader.readNext(); 
-              while ((nextLine = reader.readNext()) != null) {
-                    int employeeId = Integer.parseInt(nextLine[0]);
-                    String lastName = nextLine[1];
-                    String firstName = nextLine[2];
-                    LocalDate date = LocalDate.parse(nextLine[3], DateTimeFormatter.ofPattern("MM/dd/yyyy"));
-                    LocalTime timeIn = LocalTime.parse(nextLine[4].toUpperCase().trim(), timeFormatter);
-                    LocalTime timeOut = LocalTime.parse(nextLine[5].toUpperCase().trim(), timeFormatter);
-                    AttendanceRecord record = new AttendanceRecord(employeeId, lastName, firstName, date, timeIn, timeOut);
-                    attendanceRecords.add(record);
-              }
-            System.out.println("Attendance records loaded from " + attendanceCsv);
-          } catch (CsvValidationException ex) {
-            System.out.println("Error occured while loading attendance records.");
-            Logger.getLogger(AttendanceManager.class.getName()).log(Level.SEVERE, null, ex);
-        } catch (FileNotFoundException ex) {
-            Logger.getLogger(AttendanceManager.class.getName()).log(Level.SEVERE, null, ex);
+        synchronized (compactionLock) { // A compaction in progress would fold changes the reload has just cleared
+            long stamp = lock.writeLock();
+            try {
+                // Before anything is cleared: if attendance.csv cannot be moved into monthly files it is left in
+                // place, and starting without it would show every employee with no attendance
+                try {
+                    partitions.migrateFrom(attendanceCsv);
+                } catch (IOException ex) {
+                    System.out.println("Error occured while moving attendance records into monthly files, " + attendanceCsv + " was left unchanged.");
+                    Logger.getLogger(AttendanceManager.class.getName()).log(Level.SEVERE, null, ex);
+                    throw new UncheckedIOException("Could not move " + attendanceCsv + " into monthly files: " + ex.getMessage(), ex);
+                }
+
+                dataVersion.incrementAndGet();
+                recordsByMonth.clear(); // Clear existing records and index before loading to prevent duplicates on reload
+                recordsByEmployee.clear();
+                totalsByEmployee.clear();
+                recordedDays.clear();
+                storedMonths.clear();
+                partitionEmployees.clear();
+                unfoldedChanges.clear();
+            
+                storedMonths.addAll(partitions.months());
+                partitionEmployees.putAll(partitions.employeeIndex());
+            
+                try {
+                    int replayed;
+                    synchronized (journalLock) {
+                        replayed = journal.replay(entry -> {
+                            unfoldedChanges.add(entry); // Applied to each month as it is loaded
+                            if (entry.getOp() == AttendanceJournal.OP_ADD) {
+                                storedMonths.add(YearMonth.from(entry.getRecord().getDate()));
+                            }
+                        });
+                    }
+                    for (YearMonth month : storedMonths) {
+                        if (!new File(partitions.fileFor(month)).exists()) {
+                            partitionEmployees.put(month, new int[0]); // Only journaled records, no partition yet
+                        }
+                    }
+                    System.out.println("Attendance records available for " + storedMonths.size() + " months in " + attendanceDirectory
+                            + (replayed > 0 ? ", with " + replayed + " journaled changes from " + attendanceJournal : ""));
+                } catch (IOException ex) {
+                    System.out.println("Error occured while replaying the attendance journal.");
+                    Logger.getLogger(AttendanceManager.class.getName()).log(Level.SEVERE, null, ex);
+                }
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+        scheduleCompactionIfNeeded();
+    }
+    
+    /**
+     * Reads one month's partition and applies the unfolded changes that affect it, in order.
+     * Does nothing if the month is already loaded. The caller holds the write lock.
+     * Throws UncheckedIOException if the partition cannot be read, so nothing is changed on top of missing data.
+     */
+    private void loadMonth(YearMonth month) {
+        if (recordsByMonth.containsKey(month)) {
+            return;
+        }
+        List<AttendanceRecord> stored;
+        try {
+            stored = partitions.read(month);
         } catch (IOException ex) {
-            Logger.getLogger(AttendanceManager.class.getName()).log(Level.SEVERE, null, ex);
+            Logger.getLogger(AttendanceManager.class.getName()).log(Level.SEVERE, "Could not load attendance for " + month, ex);
+            throw new UncheckedIOException(ex);
+        }
+        
+        Map<Long, AttendanceRecord> byDay = new LinkedHashMap<>(); // Keeps file order
+        for (AttendanceRecord record : stored) {
+            if (byDay.putIfAbsent(AttendanceKeySet.key(record.getEmployeeId(), record.getDate()), record) != null) {
+                System.err.println("Skipping duplicate attendance row during load: " + String.join(",", record.toCsvArray()));
+            }
+        }
+        for (AttendanceJournal.Entry entry : unfoldedChanges) {
+            if (entry.getOp() == AttendanceJournal.OP_ADD) {
+                AttendanceRecord record = entry.getRecord();
+                if (YearMonth.from(record.getDate()).equals(month)) {
+                    byDay.putIfAbsent(AttendanceKeySet.key(record.getEmployeeId(), record.getDate()), record);
+                }
+            } else {
+                byDay.values().removeIf(record -> record.getEmployeeId() == entry.getEmployeeId());
+            }
+        }
+        
+        recordsByMonth.put(month, new ArrayList<>(byDay.size()));
+        for (AttendanceRecord record : byDay.values()) {
+            applyAdd(record);
+        }
+    }
+    
+    // Makes sure every stored month from first to last (inclusive) is in memory
+    private void ensureMonthsLoaded(YearMonth first, YearMonth last) {
+        long stamp = lock.readLock();
+        try {
+            if (monthsLoaded(first, last)) {
+                return;
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        stamp = lock.writeLock();
+        try {
+            loadMonths(first, last);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+    
+    // ensureMonthsLoaded for a caller that already holds the write lock
+    private void loadMonths(YearMonth first, YearMonth last) {
+        for (YearMonth month : new ArrayList<>(storedMonths.subSet(first, true, last, true))) {
+            loadMonth(month);
+        }
+    }
+    
+    private boolean monthsLoaded(YearMonth first, YearMonth last) {
+        for (YearMonth month : storedMonths.subSet(first, true, last, true)) {
+            if (!recordsByMonth.containsKey(month)) {
+                return false;
+            }
         }
-      }
+        return true;
+    }
     
+    /**
+     * Compacts the journal: rewrites the partitions of the months changed since the last
+     * compaction and drops the journal entries those partitions now contain. A journaled delete
+     * can affect any month, so it makes every month dirty.
+     * Runs automatically in the background once the journal passes JOURNAL_COMPACTION_THRESHOLD.
+     */
     public void saveAttendanceRecordToFile() throws IOException {
-        String tempFile = "attendance.tmp";
-        
-        try (CSVWriter writer = new CSVWriter(new FileWriter(tempFile))) {
-            DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("h:mm a"); //using 12-hour format
-            // Write header
-            String[] header = {"Employee #", "Last Name", "First Name", "Date", "Log In", "Log Out"};
-            writer.writeNext(header);
-
-            // Write attendance data
-            for (AttendanceRecord record : attendanceRecords) {
-                String [] attendanceData = {
-                    String.valueOf(record.getEmployeeId()),
-                    record.getLastName(),
-                    record.getFirstName(),
-                    record.getDate().format(DateTimeFormatter.ofPattern("MM/dd/yyyy")),
-                    record.getTimeIn().format(timeFormatter),
-                    record.getTimeOut().format(timeFormatter)        
-                };
-                writer.writeNext(attendanceData);
-            }   
-          }            
+        synchronized (compactionLock) {
+            Map<YearMonth, List<AttendanceRecord>> dirtyMonths = new TreeMap<>();
+            int folded;
+            long journalLength;
+            long stamp = lock.writeLock(); // Dirty months may still need loading
+            try {
+                folded = unfoldedChanges.size();
+                for (YearMonth month : dirtyMonths(folded)) {
+                    loadMonth(month);
+                    dirtyMonths.put(month, new ArrayList<>(recordsByMonth.get(month)));
+                }
+                synchronized (journalLock) {
+                    journalLength = journal.size();
+                }
+            } finally {
+                lock.unlockWrite(stamp);
+            }
             
-          File originalFile = new File(attendanceCsv);
-          File temp = new File(tempFile);
+            for (Map.Entry<YearMonth, List<AttendanceRecord>> month : dirtyMonths.entrySet()) {
+                partitions.write(month.getKey(), month.getValue());
+            }
             
-          if (!originalFile.delete()) {
-          System.err.println("Failed to delete original CSV file.");
-          }
-
-          if (!temp.renameTo(originalFile)) {
-              System.err.println("Failed to rename temporary attendance file to original CSV file.");
-          } else {
-              System.out.println("New attendance record saved to " + attendanceCsv);
+            // Changes made while the partitions were written stay unfolded and in the journal.
+            // If we crash before this point, replaying the old entries again is harmless
+            // because adds skip existing days and deletes remove whatever is there.
+            // Changes still waiting in write-behind mode are already in the partitions and get journaled later.
+            stamp = lock.writeLock();
+            try {
+                unfoldedChanges.subList(0, folded).clear();
+                for (Map.Entry<YearMonth, List<AttendanceRecord>> month : dirtyMonths.entrySet()) {
+                    if (month.getValue().isEmpty()) {
+                        storedMonths.remove(month.getKey());
+                    } else {
+                        storedMonths.add(month.getKey());
+                    }
+                }
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+            synchronized (journalLock) {
+                journal.discardPrefix(journalLength);
+            }
+            System.out.println("Attendance records saved to " + dirtyMonths.size() + " monthly files in " + attendanceDirectory);
+        }
+    }
+    
+    // Months whose partitions are out of date because of the first 'count' unfolded changes
+    private Set<YearMonth> dirtyMonths(int count) {
+        Set<YearMonth> months = new TreeSet<>();
+        for (AttendanceJournal.Entry entry : unfoldedChanges.subList(0, count)) {
+            if (entry.getOp() == AttendanceJournal.OP_ADD) {
+                months.add(YearMonth.from(entry.getRecord().getDate()));
+            } else {
+                months.addAll(storedMonths);
+                months.addAll(recordsByMonth.keySet());
+            }
+        }
+        return months;
+    }
+    
+    // Hands compaction to the background thread once the journal grows past the threshold
+    private void scheduleCompactionIfNeeded() {
+        if (journal.size() < JOURNAL_COMPACTION_THRESHOLD || !compactionScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        compactor.execute(() -> {
+            try {
+                saveAttendanceRecordToFile();
+            } catch (IOException | UncheckedIOException ex) {
+                Logger.getLogger(AttendanceManager.class.getName()).log(Level.SEVERE, "Attendance journal compaction failed", ex);
+            } finally {
+                compactionScheduled.set(false);
+            }
+        });
+    }
+    
+    /**
+     * Switches to write-behind persistence. Adds and deletes then update memory and return at once,
+     * and a background thread journals the queued changes together every flushIntervalMillis,
+     * or sooner once flushBatchSize changes are waiting. Use flush() to force them to disk
+     * (e.g. on logout); a shutdown hook also flushes when the JVM exits normally.
+     * Changes made through submitAttendanceRecord and submitDelete report durability through their future.
+     */
+    public void enableWriteBehind(long flushIntervalMillis, int flushBatchSize) {
+        ScheduledExecutorService executor;
+        long stamp = lock.writeLock();
+        try {
+            if (flusher != null) {
+                return;
+            }
+            this.flushBatchSize = Math.max(1, flushBatchSize);
+            executor = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "attendance-flusher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            flusher = executor;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        executor.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flushQuietly, "attendance-flush-on-exit"));
+    }
+    
+    public boolean isWriteBehindEnabled() {
+        return flusher != null;
+    }
+    
+    // Queues an entry for the flusher, the caller holds the write lock
+    private CompletableFuture<Boolean> enqueue(AttendanceJournal.Entry entry) {
+        unfoldedChanges.add(entry);
+        CompletableFuture<Boolean> durable = new CompletableFuture<>();
+        pendingWrites.add(new PendingWrite(entry, durable));
+        if (pendingWrites.size() >= flushBatchSize && !flushRequested) {
+            flushRequested = true;
+            flusher.execute(this::flushQuietly);
+        }
+        return durable;
+    }
+    
+    /**
+     * Journals every queued write-behind change in one append. Does nothing if none are queued.
+     * If the write fails, the futures of that batch complete exceptionally and the changes
+     * (which are still in memory) stay queued, ahead of newer ones, for the next flush.
+     */
+    public void flush() throws IOException {
+        synchronized (flushLock) {
+            List<PendingWrite> batch;
+            long stamp = lock.writeLock();
+            try {
+                flushRequested = false;
+                if (pendingWrites.isEmpty()) {
+                    return;
+                }
+                batch = new ArrayList<>(pendingWrites);
+                pendingWrites.clear();
+            } finally {
+                lock.unlockWrite(stamp);
+            }
             
+            List<AttendanceJournal.Entry> entries = new ArrayList<>(batch.size());
+            for (PendingWrite write : batch) {
+                entries.add(write.entry);
+            }
+            try {
+                synchronized (journalLock) {
+                    journal.append(entries); // Mutators are not blocked while this syncs to disk
+                }
+            } catch (IOException ex) {
+                List<PendingWrite> retry = new ArrayList<>(batch.size());
+                for (PendingWrite write : batch) {
+                    retry.add(new PendingWrite(write.entry, new CompletableFuture<>()));
+                }
+                stamp = lock.writeLock();
+                try {
+                    pendingWrites.addAll(0, retry);
+                } finally {
+                    lock.unlockWrite(stamp);
+                }
+                for (PendingWrite write : batch) {
+                    write.durable.completeExceptionally(ex);
+                }
+                throw ex;
+            }
+            for (PendingWrite write : batch) {
+                write.durable.complete(true);
+            }
+            scheduleCompactionIfNeeded();
+        }
+    }
+    
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (IOException ex) {
+            Logger.getLogger(AttendanceManager.class.getName()).log(Level.SEVERE, "Attendance write-behind flush failed, will retry", ex);
+        }
+    }
+    
+    /**
+     * Adds a record and returns a future that completes with true once it is on disk,
+     * or false at once if the employee already has a record for that date.
+     * Without write-behind the record is journaled before this returns.
+     */
+    public CompletableFuture<Boolean> submitAttendanceRecord(AttendanceRecord newRecord) {
+        if (flusher == null) {
+            return CompletableFuture.completedFuture(addAttendanceRecord(newRecord));
+        }
+        long stamp = lock.writeLock();
+        try {
+            if (!applyAdd(newRecord)) {
+                return CompletableFuture.completedFuture(false);
+            }
+            dataVersion.incrementAndGet();
+            return enqueue(AttendanceJournal.Entry.add(newRecord));
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+    
+    // Delete counterpart of submitAttendanceRecord, completes with false if the employee had no records
+    public CompletableFuture<Boolean> submitDelete(int employeeId) throws IOException {
+        if (flusher == null) {
+            return CompletableFuture.completedFuture(deleteRecord(employeeId));
+        }
+        long stamp = lock.writeLock();
+        try {
+            if (!hasRecords(employeeId)) {
+                return CompletableFuture.completedFuture(false);
+            }
+            applyTombstone(employeeId);
+            return enqueue(AttendanceJournal.Entry.delete(employeeId));
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause(); // A month could not be loaded, nothing was deleted
+        } finally {
+            lock.unlockWrite(stamp);
         }
     }
     
     //---- Attendance Management Methods-----
     public boolean addAttendanceRecord(AttendanceRecord newRecord) {
+        long stamp = lock.writeLock();
         try {
             // Check if the date for that employee is already recorded
-            for (AttendanceRecord record : attendanceRecords) {
-                if (record.getEmployeeId() == newRecord.getEmployeeId() && record.getDate().equals(newRecord.getDate())) {
-                    return false;
+            if (!applyAdd(newRecord)) {
+                return false;
+            }
+            dataVersion.incrementAndGet();
+            if (flusher != null) {
+                enqueue(AttendanceJournal.Entry.add(newRecord)); // Journaled by the flusher
+                return true;
+            }
+            AttendanceJournal.Entry entry = AttendanceJournal.Entry.add(newRecord);
+            try {
+                synchronized (journalLock) {
+                    journal.append(entry); // Commit point
                 }
+                unfoldedChanges.add(entry);
+            } catch (IOException ex) {
+                undoAdd(newRecord);
+                Logger.getLogger(AttendanceManager.class.getName()).log(Level.SEVERE, null, ex);
+                return false;
             }
-            
-            attendanceRecords.add(newRecord);
-            saveAttendanceRecordToFile(); //Save after adding
-            return true;
-        } catch (IOException ex) {
-            Logger.getLogger(AttendanceManager.class.getName()).log(Level.SEVERE, null, ex);
+        } finally {
+            lock.unlockWrite(stamp);
         }
-        return false;
-        
+        scheduleCompactionIfNeeded();
+        return true;
     }
-    
+
+    /**
+     * Imports a batch of records, e.g. a cutoff's worth of biometric punches.
+     * Every record is validated and checked for duplicates (against stored attendance and
+     * earlier records of the same batch) in a single pass, and all accepted records are
+     * journaled in one append. Rows are numbered from 1 in stream order.
+     * If the journal cannot be written nothing is imported and the IOException is thrown.
+     * In write-behind mode the accepted records are queued and the flusher journals them together.
+     */
+    public AttendanceImportResult importAttendance(Stream<AttendanceRecord> records) throws IOException {
+        AttendanceImportResult result = new AttendanceImportResult();
+        List<AttendanceRecord> batch = new ArrayList<>();
+        List<Integer> rowNumbers = new ArrayList<>();
+        Iterator<AttendanceRecord> iterator = records.iterator();
+        for (int rowNumber = 1; iterator.hasNext(); rowNumber++) {
+            batch.add(iterator.next());
+            rowNumbers.add(rowNumber);
+        }
+        commitImport(batch, rowNumbers, result);
+        return result;
+    }
+
+    /**
+     * Imports an attendance CSV in the same layout as attendance.csv (header line first).
+     * Rows that cannot be parsed are rejected with their line number instead of aborting the import.
+     */
+    public AttendanceImportResult importAttendanceFromFile(String fileName) throws IOException, CsvValidationException {
+        AttendanceImportResult result = new AttendanceImportResult();
+        List<AttendanceRecord> batch = new ArrayList<>();
+        List<Integer> rowNumbers = new ArrayList<>();
+
+        // Parse before taking the lock so other callers are not held up by file reading
+        try (CSVReader reader = new CSVReader(new FileReader(fileName))) {
+            String[] nextLine;
+            reader.readNext(); // Skip header
+            while ((nextLine = reader.readNext()) != null) {
+                int lineNumber = (int) reader.getLinesRead();
+                if (nextLine.length < CSV_HEADER.length) {
+                    result.reject(lineNumber, String.join(",", nextLine), "Expected " + CSV_HEADER.length + " columns but found " + nextLine.length);
+                    continue;
+                }
+                try {
+                    batch.add(AttendanceRecord.fromCsvArray(nextLine));
+                    rowNumbers.add(lineNumber);
+                } catch (NumberFormatException | DateTimeParseException ex) {
+                    result.reject(lineNumber, String.join(",", nextLine), "Unreadable value: " + ex.getMessage());
+                }
+            }
+        }
+        commitImport(batch, rowNumbers, result);
+        System.out.println("Attendance import from " + fileName + ": " + result.getSummary());
+        return result;
+    }
+
+    private void commitImport(List<AttendanceRecord> batch, List<Integer> rowNumbers, AttendanceImportResult result) throws IOException {
+        Set<Integer> knownEmployees = EmployeeManager.getInstance().getEmployeeIds(); // Shared read-only copy, imports and the clock-in applier run off the Swing thread
+        long stamp = lock.writeLock();
+        try {
+            applyImport(batch, rowNumbers, knownEmployees, result);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        scheduleCompactionIfNeeded();
+    }
+
+    private void applyImport(List<AttendanceRecord> batch, List<Integer> rowNumbers, Set<Integer> knownEmployees, AttendanceImportResult result) throws IOException {
+
+        // Load every month the batch touches first, so a partition that cannot be read fails the import before anything is applied
+        for (AttendanceRecord record : batch) {
+            if (record != null && record.getDate() != null) {
+                loadMonth(YearMonth.from(record.getDate()));
+            }
+        }
+
+        List<AttendanceRecord> accepted = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            AttendanceRecord record = batch.get(i);
+            String reason = validateImport(record, knownEmployees);
+            if (reason == null && !applyAdd(record)) { // The key set also catches repeats within this batch
+                reason = "Attendance for this employee and date already exists";
+            }
+            if (reason != null) {
+                result.reject(rowNumbers.get(i), record == null ? "" : describe(record), reason);
+            } else {
+                accepted.add(record);
+            }
+        }
+        if (!accepted.isEmpty()) {
+            dataVersion.incrementAndGet();
+        }
+
+        if (!accepted.isEmpty() && flusher != null) {
+            for (AttendanceRecord record : accepted) {
+                enqueue(AttendanceJournal.Entry.add(record));
+            }
+        } else if (!accepted.isEmpty()) {
+            List<AttendanceJournal.Entry> entries = new ArrayList<>(accepted.size());
+            for (AttendanceRecord record : accepted) {
+                entries.add(AttendanceJournal.Entry.add(record));
+            }
+            try {
+                synchronized (journalLock) {
+                    journal.append(entries); // One write and one fsync for the whole batch
+                }
+                unfoldedChanges.addAll(entries);
+            } catch (IOException ex) {
+                undoAdds(accepted);
+                throw ex;
+            }
+        }
+        result.setAcceptedCount(accepted.size());
+        result.sortRejections(); // Parse and validation rejections were collected separately
+    }
+
+    // Returns why a record cannot be imported, or null if it is valid
+    private static String validateImport(AttendanceRecord record, Set<Integer> knownEmployees) {
+        if (record == null) {
+            return "Empty record";
+        }
+        if (record.getDate() == null || record.getTimeIn() == null || record.getTimeOut() == null) {
+            return "Missing date or time";
+        }
+        if (!knownEmployees.contains(record.getEmployeeId())) {
+            return "Unknown employee ID " + record.getEmployeeId();
+        }
+        if (record.getTimeIn().isAfter(record.getTimeOut())) {
+            return "Time In is later than Time Out";
+        }
+        return null;
+    }
+
+    private static String describe(AttendanceRecord record) {
+        if (record.getDate() != null && record.getTimeIn() != null && record.getTimeOut() != null) {
+            return String.join(",", record.toCsvArray());
+        }
+        return record.getEmployeeId() + "," + record.getLastName() + "," + record.getFirstName() + ","
+                + record.getDate() + "," + record.getTimeIn() + "," + record.getTimeOut();
+    }
+
+    // Reverts a batch of applyAdd calls in one pass over each affected month
+    private void undoAdds(List<AttendanceRecord> records) {
+        dataVersion.incrementAndGet();
+        Set<AttendanceRecord> undone = Collections.newSetFromMap(new IdentityHashMap<>());
+        undone.addAll(records);
+        Set<YearMonth> months = new HashSet<>();
+        for (AttendanceRecord record : records) {
+            months.add(YearMonth.from(record.getDate()));
+        }
+        for (YearMonth month : months) {
+            recordsByMonth.get(month).removeIf(undone::contains);
+        }
+        for (AttendanceRecord record : records) {
+            recordedDays.remove(AttendanceKeySet.key(record.getEmployeeId(), record.getDate()));
+            NavigableMap<LocalDate, AttendanceRecord> employeeRecords = recordsByEmployee.get(record.getEmployeeId());
+            if (employeeRecords != null) {
+                employeeRecords.remove(record.getDate());
+            }
+            updateTotals(record, -1);
+        }
+    }
+
+    /**
+     * A number that changes whenever a record is added or removed (or the records are reloaded).
+     * Anything derived from the records, such as a cached payslip, is current as long as this
+     * has not changed since it was read before the records were.
+     */
+    public long getDataVersion() {
+        return dataVersion.get();
+    }
+
     public List<AttendanceRecord> getAttendanceByEmployeeId(int employeeId) {
-        
-        List<AttendanceRecord> records = new ArrayList<>();
-        for(AttendanceRecord record : attendanceRecords) {
-            if (record.getEmployeeId() == employeeId){
-                records.add(record);
+        ensureMonthsLoaded(FIRST_MONTH, LAST_MONTH);
+        long stamp = lock.readLock(); // Copies walk the index, so they read under the lock rather than optimistically
+        try {
+            NavigableMap<LocalDate, AttendanceRecord> records = recordsByEmployee.get(employeeId);
+            if (records == null) {
+                return new ArrayList<>();
+            }
+            return new ArrayList<>(records.values()); // Return a copy to prevent modification
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+    
+    // Returns an employee's records from 'from' to 'to' (both inclusive), sorted by date
+    public List<AttendanceRecord> getAttendance(int employeeId, LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            return new ArrayList<>();
+        }
+        ensureMonthsLoaded(YearMonth.from(from), YearMonth.from(to)); // Only the months of the period are read
+        long stamp = lock.readLock();
+        try {
+            NavigableMap<LocalDate, AttendanceRecord> records = recordsByEmployee.get(employeeId);
+            if (records == null) {
+                return new ArrayList<>();
             }
+            return new ArrayList<>(records.subMap(from, true, to, true).values());
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+    
+    /**
+     * Totals of an employee's records from 'from' to 'to' (both inclusive), the same as
+     * AttendanceSummary.of(getAttendance(employeeId, from, to)) without copying or walking the
+     * records. Whole months in the period are read from the running totals, so a monthly payslip
+     * costs the same however many days it has; only the days of a month the period covers in
+     * part are summed one by one.
+     */
+    public AttendanceSummary getSummary(int employeeId, LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            return AttendanceSummary.EMPTY;
+        }
+        YearMonth firstMonth = YearMonth.from(from);
+        YearMonth lastMonth = YearMonth.from(to);
+        ensureMonthsLoaded(firstMonth, lastMonth);
+        long stamp = lock.readLock();
+        try {
+            NavigableMap<YearMonth, PeriodTotals> totals = totalsByEmployee.get(employeeId);
+            if (totals == null) {
+                return AttendanceSummary.EMPTY;
+            }
+            PeriodTotals sum = new PeriodTotals();
+            for (Map.Entry<YearMonth, PeriodTotals> month : totals.subMap(firstMonth, true, lastMonth, true).entrySet()) {
+                LocalDate monthStart = month.getKey().atDay(1);
+                LocalDate monthEnd = month.getKey().atEndOfMonth();
+                if (!monthStart.isBefore(from) && !monthEnd.isAfter(to)) {
+                    sum.add(month.getValue());
+                } else {
+                    LocalDate partStart = monthStart.isBefore(from) ? from : monthStart;
+                    LocalDate partEnd = monthEnd.isAfter(to) ? to : monthEnd;
+                    for (AttendanceRecord record : recordsByEmployee.get(employeeId).subMap(partStart, true, partEnd, true).values()) {
+                        sum.add(record, 1);
+                    }
+                }
+            }
+            return sum.toSummary();
+        } finally {
+            lock.unlockRead(stamp);
         }
-        return records;
     }
     
     public List<AttendanceRecord> getAllAttendanceRecords() {
-        return new ArrayList<>(attendanceRecords); // Return a copy to prevent modification
+        ensureMonthsLoaded(FIRST_MONTH, LAST_MONTH);
+        long stamp = lock.readLock();
+        try {
+            List<AttendanceRecord> records = new ArrayList<>(); // Return a copy to prevent modification
+            for (List<AttendanceRecord> monthRecords : recordsByMonth.values()) {
+                records.addAll(monthRecords);
+            }
+            return records;
+        } finally {
+            lock.unlockRead(stamp);
+        }
     }    
     
+    /**
+     * Deletes every attendance record of an employee by journaling a tombstone: the records are
+     * dropped from loaded months once the tombstone is on disk, unloaded months drop them when they
+     * load, and the partitions lose them at the next compaction. No month is loaded to find the
+     * records (see hasRecords); an employee with none is reported as not found and nothing is
+     * journaled. If the journal cannot be written nothing is deleted.
+     */
     public boolean deleteRecord(int employeeId) throws IOException {
-        boolean removed = attendanceRecords.removeIf(e -> e.getEmployeeId() == employeeId);
+        boolean removed;
+        long stamp = lock.writeLock();
+        try {
+            removed = hasRecords(employeeId);
+            if (removed && flusher != null) {
+                applyTombstone(employeeId);
+                enqueue(AttendanceJournal.Entry.delete(employeeId));
+            } else if (removed) {
+                AttendanceJournal.Entry entry = AttendanceJournal.Entry.delete(employeeId);
+                synchronized (journalLock) {
+                    journal.append(entry); // Commit point, journal the delete instead of rewriting the file
+                }
+                applyTombstone(employeeId);
+                unfoldedChanges.add(entry);
+            }
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause(); // A month could not be loaded, nothing was deleted
+        } finally {
+            lock.unlockWrite(stamp);
+        }
         if (removed) {
-            saveAttendanceRecordToFile(); // Save changes after deleting
+            scheduleCompactionIfNeeded();
             System.out.println("Attendance Records of Employee " + employeeId + " deleted successfully.");
         } else {
             System.out.println("Attendance Records of Employee " + employeeId + " not found.");
@@ -12,6 +12,7 @@ package com.mycompany.motorphpayrollsystem;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
 
 /**
  *
@@ -19,6 +20,8 @@ import java.time.LocalTime;
  */
 public class AttendanceRecord {
     
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("MM/dd/yyyy");
+    
     private int employeeId;
     private String lastName;
     private String firstName;
@@ -28,8 +31,9 @@ public class AttendanceRecord {
     
     public AttendanceRecord (int employeeId, String lastName, String firstName, LocalDate date, LocalTime timeIn, LocalTime timeOut) {
         this.employeeId = employeeId;
-        this.lastName = lastName;
-        this.firstName = firstName;
+        NameDictionary.Names names = NameDictionary.canonical(employeeId, lastName, firstName); // One copy of each name, not one per row
+        this.lastName = names.getLastName();
+        this.firstName = names.getFirstName();
         this.date = date;
         this.timeIn = timeIn;
         this.timeOut = timeOut;
@@ -69,6 +73,32 @@ public class AttendanceRecord {
     public double getHoursWorked() {
         return calculateMinutesWorked() / 60.0;
     }
+    
+    /**
+     * Creates a record from an attendance.csv row (Employee #, Last Name, First Name, Date, Log In, Log Out).
+     * Malformed IDs, dates or times throw NumberFormatException or DateTimeParseException.
+     */
+    public static AttendanceRecord fromCsvArray(String[] csvArray) {
+        int employeeId = Integer.parseInt(csvArray[0]);
+        String lastName = csvArray[1];
+        String firstName = csvArray[2];
+        LocalDate date = AttendanceFieldParser.parseDate(csvArray[3]);
+        LocalTime timeIn = AttendanceFieldParser.parseTime(csvArray[4]);
+        LocalTime timeOut = AttendanceFieldParser.parseTime(csvArray[5]);
+        return new AttendanceRecord(employeeId, lastName, firstName, date, timeIn, timeOut);
+    }
+    
+    // Converts the record to a row for attendance.csv (Employee #, Last Name, First Name, Date, Log In, Log Out)
+    public String[] toCsvArray() {
+        return new String[]{
+            String.valueOf(employeeId),
+            lastName,
+            firstName,
+            date.format(DATE_FORMAT),
+            AttendanceFieldParser.formatTime(timeIn), // 12-hour format, seconds kept when present
+            AttendanceFieldParser.formatTime(timeOut)
+        };
+    }
 }
 
 
@@ -0,0 +1,174 @@
+package com.mycompany.motorphpayrollsystem;
+
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvValidationException;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Reads attendance.csv in parallel.
+ * The file is split into byte ranges that start and end on line boundaries, each range is
+ * parsed with OpenCSV on the common ForkJoinPool, and the results are joined back in file order.
+ * Attendance rows never contain line breaks inside quoted fields, which is what makes
+ * splitting on '\n' safe. Small files are parsed on the calling thread.
+ * Each range is streamed through a fixed-size buffer rather than read whole, so the memory used
+ * for reading does not grow with the file, even when one range is the entire file (one core).
+ */
+public class AttendanceCsvLoader {
+    private static final int MIN_CHUNK_SIZE = 1 << 20; // 1 MB, smaller chunks cost more to schedule than to parse
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private AttendanceCsvLoader() {
+    }
+
+    // Returns every data row of the file (the header line is skipped) in file order
+    public static List<AttendanceRecord> load(String fileName) throws IOException, CsvValidationException {
+        return load(fileName, MIN_CHUNK_SIZE);
+    }
+
+    static List<AttendanceRecord> load(String fileName, int minChunkSize) throws IOException, CsvValidationException {
+        try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)) {
+            long size = channel.size();
+            long dataStart = nextLineStart(channel, 0); // Skip header
+            if (dataStart >= size) {
+                return new ArrayList<>();
+            }
+
+            int parallelism = ForkJoinPool.getCommonPoolParallelism();
+            long chunkCount = Math.max(1, Math.min(parallelism * 4L, (size - dataStart) / minChunkSize));
+            if (chunkCount == 1 || parallelism <= 1) {
+                return parseChunk(channel, dataStart, size);
+            }
+
+            // Align every chunk boundary to the start of a line
+            List<Long> boundaries = new ArrayList<>();
+            boundaries.add(dataStart);
+            for (long i = 1; i < chunkCount; i++) {
+                long boundary = nextLineStart(channel, dataStart + (size - dataStart) * i / chunkCount);
+                if (boundary > boundaries.get(boundaries.size() - 1) && boundary < size) {
+                    boundaries.add(boundary);
+                }
+            }
+            boundaries.add(size);
+
+            List<Callable<List<AttendanceRecord>>> tasks = new ArrayList<>();
+            for (int i = 0; i < boundaries.size() - 1; i++) {
+                long start = boundaries.get(i);
+                long end = boundaries.get(i + 1);
+                tasks.add(() -> parseChunk(channel, start, end));
+            }
+
+            List<AttendanceRecord> records = new ArrayList<>();
+            for (Future<List<AttendanceRecord>> result : ForkJoinPool.commonPool().invokeAll(tasks)) {
+                records.addAll(join(result)); // Futures are in chunk order, so rows keep their file order
+            }
+            return records;
+        }
+    }
+
+    private static List<AttendanceRecord> parseChunk(FileChannel channel, long start, long end) throws IOException, CsvValidationException {
+        // Read rather than mapped, so the file can be replaced by compaction on Windows once this returns
+        InputStream range = new BufferedInputStream(new ChannelRange(channel, start, end), READ_BUFFER_SIZE);
+        List<AttendanceRecord> records = new ArrayList<>();
+        try (CSVReader reader = new CSVReader(new InputStreamReader(range, Charset.defaultCharset()))) { // Same charset FileReader used
+            String[] nextLine;
+            while ((nextLine = reader.readNext()) != null) {
+                records.add(AttendanceRecord.fromCsvArray(nextLine));
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Bytes [position, end) of the channel. Uses positional reads, which do not move the channel's
+     * own position, so the chunks of one file can be read by several threads at once.
+     */
+    private static final class ChannelRange extends InputStream {
+        private final FileChannel channel;
+        private final long end;
+        private long position;
+
+        ChannelRange(FileChannel channel, long start, long end) {
+            this.channel = channel;
+            this.position = start;
+            this.end = end;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) < 0 ? -1 : one[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (position >= end) {
+                return -1;
+            }
+            if (len == 0) {
+                return 0;
+            }
+            int read = channel.read(ByteBuffer.wrap(b, off, (int) Math.min(len, end - position)), position);
+            if (read < 0) {
+                throw new IOException("File shrank while reading it");
+            }
+            position += read;
+            return read;
+        }
+    }
+
+    // Returns the position just after the next '\n' at or after 'position', or the file size
+    private static long nextLineStart(FileChannel channel, long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        long size = channel.size();
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    // Unwraps task failures so callers see the same exceptions as a sequential read
+    private static List<AttendanceRecord> join(Future<List<AttendanceRecord>> result) throws IOException, CsvValidationException {
+        try {
+            return result.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while loading attendance records", ex);
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (cause instanceof CsvValidationException csvException) {
+                throw csvException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IOException(cause);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.mycompany.motorphpayrollsystem;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.Month;
+import java.time.Year;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.temporal.ChronoField;
+
+/**
+ * Decoder for the fixed-format date and time fields of attendance.csv.
+ * Well-formed "MM/dd/yyyy" and "h:mm AM/PM" values are read character by character and
+ * mapped to shared cached instances, so loading a large file does not build formatters or
+ * create a new LocalDate/LocalTime per row. Anything the fast path does not recognize is
+ * handed to the regular DateTimeFormatter, so invalid input is rejected exactly as before.
+ * Times with seconds ("8:10:30 AM", or with a fraction) are written only when a punch has them,
+ * and are read back exactly.
+ */
+public final class AttendanceFieldParser {
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("MM/dd/yyyy");
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("h:mm a");
+    private static final DateTimeFormatter SECONDS_FORMAT = DateTimeFormatter.ofPattern("h:mm:ss a");
+    private static final DateTimeFormatter NANOS_FORMAT = DateTimeFormatter.ofPattern("h:mm:ss.SSSSSSSSS a");
+    private static final DateTimeFormatter PARSE_TIME_FORMAT = new DateTimeFormatterBuilder() // "h:mm a", optionally with seconds and a fraction of 1 to 9 digits
+            .appendPattern("h:mm[:ss")
+            .appendFraction(ChronoField.NANO_OF_SECOND, 0, 9, true)
+            .appendPattern("] a")
+            .toFormatter();
+
+    private static final int FIRST_CACHED_YEAR = 1970;
+    private static final int CACHED_YEARS = 130;
+    private static final LocalDate[] DATES = new LocalDate[CACHED_YEARS * 12 * 31]; // Filled lazily
+    private static final LocalTime[] TIMES = new LocalTime[24 * 60];
+
+    // The fast path only understands English AM/PM markers, so it is disabled for locales that use other text
+    private static final boolean FAST_TIME_PATH =
+            "9:00 AM".equals(LocalTime.of(9, 0).format(TIME_FORMAT))
+            && "9:00 PM".equals(LocalTime.of(21, 0).format(TIME_FORMAT));
+
+    static {
+        for (int minute = 0; minute < TIMES.length; minute++) {
+            TIMES[minute] = LocalTime.of(minute / 60, minute % 60);
+        }
+    }
+
+    private AttendanceFieldParser() {
+    }
+
+    public static LocalDate parseDate(String text) {
+        if (text.length() == 10 && text.charAt(2) == '/' && text.charAt(5) == '/') {
+            int month = digits(text, 0, 2);
+            int day = digits(text, 3, 5);
+            int year = digits(text, 6, 10);
+            if (month >= 1 && month <= 12 && day >= 1 && year >= 1
+                    && day <= Month.of(month).length(Year.isLeap(year))) {
+                return date(year, month, day);
+            }
+        }
+        return LocalDate.parse(text, DATE_FORMAT); // Throws DateTimeParseException for malformed input
+    }
+
+    // Equivalent to LocalTime.parse(text.toUpperCase().trim(), PARSE_TIME_FORMAT)
+    public static LocalTime parseTime(String text) {
+        if (FAST_TIME_PATH) {
+            int start = 0;
+            int end = text.length();
+            while (start < end && text.charAt(start) <= ' ') {
+                start++;
+            }
+            while (end > start && text.charAt(end - 1) <= ' ') {
+                end--;
+            }
+            int colon = start + 1 < end && text.charAt(start + 1) == ':' ? start + 1 : start + 2;
+            if (end - colon == 6 && text.charAt(colon) == ':' && text.charAt(colon + 3) == ' ') {
+                int hour = digits(text, start, colon);
+                int minute = digits(text, colon + 1, colon + 3);
+                char marker = Character.toUpperCase(text.charAt(colon + 4));
+                char m = Character.toUpperCase(text.charAt(colon + 5));
+                if (hour >= 1 && hour <= 12 && minute >= 0 && minute <= 59 && m == 'M' && (marker == 'A' || marker == 'P')) {
+                    int hourOfDay = hour % 12 + (marker == 'P' ? 12 : 0);
+                    return TIMES[hourOfDay * 60 + minute];
+                }
+            }
+        }
+        return LocalTime.parse(text.toUpperCase().trim(), PARSE_TIME_FORMAT); // Throws DateTimeParseException for malformed input
+    }
+
+    // Returns the canonical cached instance for a time with minute precision
+    public static LocalTime time(int minuteOfDay) {
+        return TIMES[minuteOfDay];
+    }
+
+    // Cached instance for whole minutes, otherwise a new LocalTime with the full precision
+    public static LocalTime time(long nanoOfDay) {
+        if (nanoOfDay % 60_000_000_000L == 0) {
+            return TIMES[(int) (nanoOfDay / 60_000_000_000L)];
+        }
+        return LocalTime.ofNanoOfDay(nanoOfDay);
+    }
+
+    // The inverse of parseTime: "h:mm a", with seconds and nanoseconds only when the time has them
+    public static String formatTime(LocalTime time) {
+        if (time.getNano() != 0) {
+            return time.format(NANOS_FORMAT);
+        }
+        return time.format(time.getSecond() != 0 ? SECONDS_FORMAT : TIME_FORMAT);
+    }
+
+    // Returns the canonical cached instance for dates in the cached range
+    public static LocalDate date(int year, int month, int day) {
+        int yearIndex = year - FIRST_CACHED_YEAR;
+        if (yearIndex < 0 || yearIndex >= CACHED_YEARS) {
+            return LocalDate.of(year, month, day);
+        }
+        int index = (yearIndex * 12 + month - 1) * 31 + day - 1;
+        LocalDate cached = DATES[index];
+        if (cached == null) {
+            cached = LocalDate.of(year, month, day); // Racing threads may both create it, either instance is fine
+            DATES[index] = cached;
+        }
+        return cached;
+    }
+
+    // Parses text[from, to) as a non-negative decimal number, or returns -1 if it contains anything else
+    private static int digits(String text, int from, int to) {
+        if (from >= to) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+}
@@ -0,0 +1,72 @@
+package com.mycompany.motorphpayrollsystem;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Outcome of a bulk attendance import: how many records were accepted and,
+ * for every row that was not, its row number, contents and the reason.
+ */
+public class AttendanceImportResult {
+    private int acceptedCount;
+    private final List<Rejection> rejections = new ArrayList<>();
+
+    public static class Rejection {
+        private final int rowNumber;
+        private final String row;
+        private final String reason;
+
+        public Rejection(int rowNumber, String row, String reason) {
+            this.rowNumber = rowNumber;
+            this.row = row;
+            this.reason = reason;
+        }
+
+        // Line number for file imports (the header is line 1), position in the stream otherwise
+        public int getRowNumber() {
+            return rowNumber;
+        }
+
+        public String getRow() {
+            return row;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        public String toString() {
+            return "Row " + rowNumber + ": " + reason + " [" + row + "]";
+        }
+    }
+
+    void setAcceptedCount(int acceptedCount) {
+        this.acceptedCount = acceptedCount;
+    }
+
+    void reject(int rowNumber, String row, String reason) {
+        rejections.add(new Rejection(rowNumber, row, reason));
+    }
+
+    void sortRejections() {
+        rejections.sort(Comparator.comparingInt(Rejection::getRowNumber));
+    }
+
+    public int getAcceptedCount() {
+        return acceptedCount;
+    }
+
+    public int getRejectedCount() {
+        return rejections.size();
+    }
+
+    public List<Rejection> getRejections() {
+        return Collections.unmodifiableList(rejections);
+    }
+
+    public String getSummary() {
+        return acceptedCount + " attendance record(s) imported, " + rejections.size() + " rejected.";
+    }
+}
@@ -0,0 +1,218 @@
+package com.mycompany.motorphpayrollsystem;
+
+import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of attendance mutations kept next to attendance.csv.
+ * Every entry is written as [payload length][CRC32 of payload][payload] and fsynced before
+ * the mutation is reported as saved. On startup the entries are replayed on top of the CSV
+ * snapshot; a torn or corrupted tail (e.g. from a crash mid-write) ends the replay and is cut off.
+ */
+public class AttendanceJournal {
+    public static final byte OP_ADD = 1;
+    public static final byte OP_DELETE = 2;
+
+    private static final int MAGIC = 0x4D50484A; // "MPHJ"
+    private static final short VERSION = 1;
+    private static final int HEADER_SIZE = 6;
+    private static final int MAX_ENTRY_SIZE = 64 * 1024;
+
+    private final File file;
+
+    public AttendanceJournal(String fileName) {
+        this.file = new File(fileName);
+    }
+
+    // A single journaled mutation
+    public static class Entry {
+        private final byte op;
+        private final int employeeId;
+        private final AttendanceRecord record;
+
+        private Entry(byte op, int employeeId, AttendanceRecord record) {
+            this.op = op;
+            this.employeeId = employeeId;
+            this.record = record;
+        }
+
+        public static Entry add(AttendanceRecord record) {
+            return new Entry(OP_ADD, record.getEmployeeId(), record);
+        }
+
+        public static Entry delete(int employeeId) {
+            return new Entry(OP_DELETE, employeeId, null);
+        }
+
+        public byte getOp() {
+            return op;
+        }
+
+        public int getEmployeeId() {
+            return employeeId;
+        }
+
+        public AttendanceRecord getRecord() {
+            return record;
+        }
+    }
+
+    public long size() {
+        return file.length();
+    }
+
+    public void append(Entry entry) throws IOException {
+        append(List.of(entry));
+    }
+
+    // Writes all entries with a single write and a single fsync
+    public void append(List<Entry> entries) throws IOException {
+        if (entries.isEmpty()) {
+            return;
+        }
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(buffer);
+        if (file.length() < HEADER_SIZE) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+        }
+        CRC32 crc = new CRC32();
+        for (Entry entry : entries) {
+            byte[] payload = encode(entry);
+            crc.reset();
+            crc.update(payload);
+            out.writeInt(payload.length);
+            out.writeInt((int) crc.getValue());
+            out.write(payload);
+        }
+        out.flush();
+
+        try (FileOutputStream stream = new FileOutputStream(file, true)) {
+            stream.write(buffer.toByteArray());
+            stream.getFD().sync();
+        }
+    }
+
+    /**
+     * Replays every intact entry in order and returns how many were applied.
+     * A damaged tail is truncated so later appends start from the last good entry.
+     */
+    public int replay(Consumer<Entry> consumer) throws IOException {
+        if (!file.exists() || file.length() == 0) {
+            return 0;
+        }
+        long validLength = HEADER_SIZE;
+        int applied = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (file.length() < HEADER_SIZE || in.readInt() != MAGIC || in.readShort() != VERSION) {
+                throw new IOException("Unrecognized attendance journal format: " + file.getAbsolutePath());
+            }
+            CRC32 crc = new CRC32();
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException eof) {
+                    break; // Clean end of journal
+                }
+                try {
+                    int checksum = in.readInt();
+                    if (length <= 0 || length > MAX_ENTRY_SIZE) {
+                        throw new IOException("Invalid entry length " + length);
+                    }
+                    byte[] payload = new byte[length];
+                    in.readFully(payload);
+                    crc.reset();
+                    crc.update(payload);
+                    if ((int) crc.getValue() != checksum) {
+                        throw new IOException("Checksum mismatch");
+                    }
+                    consumer.accept(decode(payload));
+                } catch (IOException ex) {
+                    Logger.getLogger(AttendanceJournal.class.getName()).log(Level.WARNING,
+                            "Discarding damaged attendance journal tail at byte " + validLength, ex);
+                    break;
+                }
+                validLength += 8 + length;
+                applied++;
+            }
+        }
+        if (validLength < file.length()) {
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+                channel.truncate(validLength);
+                channel.force(true);
+            }
+        }
+        return applied;
+    }
+
+    /**
+     * Drops the first 'length' bytes of the journal, keeping entries appended after that point.
+     * Called once a snapshot containing those entries has been safely written.
+     */
+    public void discardPrefix(long length) throws IOException {
+        long currentLength = file.length();
+        if (length >= currentLength) {
+            Files.deleteIfExists(file.toPath());
+            return;
+        }
+        Path temp = new File(file.getPath() + ".tmp").toPath();
+        try (FileChannel source = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+             FileOutputStream target = new FileOutputStream(temp.toFile())) {
+            DataOutputStream header = new DataOutputStream(target);
+            header.writeInt(MAGIC);
+            header.writeShort(VERSION);
+            header.flush();
+            long start = Math.max(length, HEADER_SIZE);
+            source.transferTo(start, currentLength - start, target.getChannel());
+            target.getFD().sync();
+        }
+        Files.move(temp, file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static byte[] encode(Entry entry) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(64);
+        DataOutputStream out = new DataOutputStream(buffer);
+        out.writeByte(entry.getOp());
+        out.writeInt(entry.getEmployeeId());
+        if (entry.getOp() == OP_ADD) {
+            AttendanceRecord record = entry.getRecord();
+            out.writeUTF(record.getLastName());
+            out.writeUTF(record.getFirstName());
+            out.writeLong(record.getDate().toEpochDay());
+            out.writeLong(record.getTimeIn().toNanoOfDay());
+            out.writeLong(record.getTimeOut().toNanoOfDay());
+        }
+        out.flush();
+        return buffer.toByteArray();
+    }
+
+    private static Entry decode(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        byte op = in.readByte();
+        int employeeId = in.readInt();
+        if (op == OP_DELETE) {
+            return Entry.delete(employeeId);
+        }
+        if (op != OP_ADD) {
+            throw new IOException("Unknown journal operation " + op);
+        }
+        String lastName = in.readUTF();
+        String firstName = in.readUTF();
+        LocalDate date = LocalDate.ofEpochDay(in.readLong());
+        LocalTime timeIn = LocalTime.ofNanoOfDay(in.readLong());
+        LocalTime timeOut = LocalTime.ofNanoOfDay(in.readLong());
+        return Entry.add(new AttendanceRecord(employeeId, lastName, firstName, date, timeIn, timeOut));
+    }
+}
@@ -0,0 +1,76 @@
+package com.mycompany.motorphpayrollsystem;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The hours, overtime and tardiness arithmetic of AttendanceSummary, over columns of punches
+ * instead of one record at a time. A punch is a time in and a time out as minutes of the day,
+ * the layout ColumnarAttendanceStore keeps. For every punch the day's minutes less the 1 hour
+ * lunch break count as regular time up to 8 hours and as overtime beyond that, and a time in
+ * after 8:10 counts as tardy; the totals are the same as AttendanceSummary.of for the same
+ * records.
+ *
+ * When the JVM is started with --add-modules jdk.incubator.vector the columns are processed
+ * several punches per instruction by VectorAttendanceKernel; otherwise, or with
+ * -Dmotorph.vector=false, by the scalar loop here.
+ */
+public final class AttendanceKernel {
+    static final int LUNCH_MINUTES = 60;
+    static final int REGULAR_MINUTES = 8 * 60;
+    static final int GRACE_PERIOD_MINUTE = 8 * 60 + 10; // Time in after 8:10 counts as tardy
+
+    private static final boolean VECTORIZED = vectorApiAvailable();
+
+    private AttendanceKernel() {
+    }
+
+    private static boolean vectorApiAvailable() {
+        if (!Boolean.parseBoolean(System.getProperty("motorph.vector", "true"))
+                || ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return false;
+        }
+        try {
+            Class.forName("com.mycompany.motorphpayrollsystem.VectorAttendanceKernel"); // Links against the incubator classes
+            return true;
+        } catch (ClassNotFoundException | LinkageError ex) {
+            Logger.getLogger(AttendanceKernel.class.getName()).log(Level.WARNING, "Vector API present but unusable, using the scalar kernel", ex);
+            return false;
+        }
+    }
+
+    public static boolean isVectorized() {
+        return VECTORIZED;
+    }
+
+    // Totals of the punches in rows from (inclusive) to to (exclusive) of the two columns
+    public static AttendanceSummary summarize(short[] minuteIn, short[] minuteOut, int from, int to) {
+        if (from < 0 || to > minuteIn.length || to > minuteOut.length || from > to) {
+            throw new IndexOutOfBoundsException("Rows " + from + " to " + to + " of " + minuteIn.length);
+        }
+        return VECTORIZED ? VectorAttendanceKernel.summarize(minuteIn, minuteOut, from, to)
+                : summarizeScalar(minuteIn, minuteOut, from, to);
+    }
+
+    static AttendanceSummary summarizeScalar(short[] minuteIn, short[] minuteOut, int from, int to) {
+        long[] totals = new long[3];
+        addScalar(minuteIn, minuteOut, from, to, totals);
+        return new AttendanceSummary(totals[0], totals[1], totals[2], to - from);
+    }
+
+    // Adds the regular, overtime and tardy minutes of the rows to totals[0], [1] and [2]
+    static void addScalar(short[] minuteIn, short[] minuteOut, int from, int to, long[] totals) {
+        long regularMinutes = 0;
+        long overtimeMinutes = 0;
+        long tardyMinutes = 0;
+        for (int i = from; i < to; i++) {
+            int worked = minuteOut[i] - minuteIn[i] - LUNCH_MINUTES;
+            regularMinutes += Math.min(worked, REGULAR_MINUTES);
+            overtimeMinutes += Math.max(worked - REGULAR_MINUTES, 0);
+            tardyMinutes += Math.max(minuteIn[i] - GRACE_PERIOD_MINUTE, 0);
+        }
+        totals[0] += regularMinutes;
+        totals[1] += overtimeMinutes;
+        totals[2] += tardyMinutes;
+    }
+}
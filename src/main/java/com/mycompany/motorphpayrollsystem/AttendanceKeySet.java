@@ -0,0 +1,131 @@
+package com.mycompany.motorphpayrollsystem;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Set of (employee ID, date) keys used to detect duplicate attendance days.
+ * Each key is packed into a single long (employee ID in the high 32 bits, epoch day
+ * in the low 32 bits) and stored in an open-addressing table, so lookups and inserts
+ * take constant time and no objects are created per key.
+ */
+public class AttendanceKeySet {
+    private static final long EMPTY = Long.MIN_VALUE; // Never produced for a non-negative employee ID, marks a free slot
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private long[] slots;
+    private int size;
+
+    public AttendanceKeySet() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public AttendanceKeySet(int expectedSize) {
+        int capacity = DEFAULT_CAPACITY;
+        while (capacity * 3 < expectedSize * 4) { // Keep the load factor under 0.75
+            capacity <<= 1;
+        }
+        slots = newTable(capacity);
+    }
+
+    public static long key(int employeeId, LocalDate date) {
+        return key(employeeId, date.toEpochDay());
+    }
+
+    public static long key(int employeeId, long epochDay) {
+        return ((long) employeeId << 32) | (epochDay & 0xFFFFFFFFL);
+    }
+
+    public boolean contains(long key) {
+        long[] table = slots; // Read once, so a lookup racing a resize still probes one consistent table
+        int mask = table.length - 1;
+        int i = slot(key, mask);
+        for (int probes = 0; probes < table.length; probes++, i = (i + 1) & mask) { // Bounded, in case a racing writer left no empty slot in view
+            long current = table[i];
+            if (current == EMPTY) {
+                return false;
+            }
+            if (current == key) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Returns false if the key was already present
+    public boolean add(long key) {
+        if ((size + 1) * 4 > slots.length * 3) {
+            resize(slots.length << 1);
+        }
+        int mask = slots.length - 1;
+        for (int i = slot(key, mask); ; i = (i + 1) & mask) {
+            long current = slots[i];
+            if (current == EMPTY) {
+                slots[i] = key;
+                size++;
+                return true;
+            }
+            if (current == key) {
+                return false;
+            }
+        }
+    }
+
+    public boolean remove(long key) {
+        int mask = slots.length - 1;
+        int i = slot(key, mask);
+        while (slots[i] != key) {
+            if (slots[i] == EMPTY) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        // Shift the following entries of the probe run back so lookups never stop early
+        int gap = i;
+        for (int j = (gap + 1) & mask; slots[j] != EMPTY; j = (j + 1) & mask) {
+            int home = slot(slots[j], mask);
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                slots[gap] = slots[j];
+                gap = j;
+            }
+        }
+        slots[gap] = EMPTY;
+        size--;
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        Arrays.fill(slots, EMPTY);
+        size = 0;
+    }
+
+    private void resize(int capacity) {
+        long[] old = slots;
+        slots = newTable(capacity);
+        int mask = capacity - 1;
+        for (long key : old) {
+            if (key != EMPTY) {
+                int i = slot(key, mask);
+                while (slots[i] != EMPTY) {
+                    i = (i + 1) & mask;
+                }
+                slots[i] = key;
+            }
+        }
+    }
+
+    private static long[] newTable(int capacity) {
+        long[] table = new long[capacity];
+        Arrays.fill(table, EMPTY);
+        return table;
+    }
+
+    private static int slot(long key, int mask) {
+        long h = key * 0x9E3779B97F4A7C15L; // Fibonacci hashing spreads sequential IDs and dates
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
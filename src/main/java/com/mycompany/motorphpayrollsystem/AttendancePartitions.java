@@ -0,0 +1,316 @@
+package com.mycompany.motorphpayrollsystem;
+
+import com.opencsv.CSVWriter;
+import com.opencsv.exceptions.CsvValidationException;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.DateTimeException;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Attendance stored as one CSV per month, e.g. attendance/2024-06.csv holds every record dated
+ * June 2024 in the attendance.csv layout. Each partition has a binary snapshot beside it
+ * (attendance/2024-06.bin, see SnapshotFile) so a month can be loaded without CSV parsing.
+ * Partitions are replaced atomically, and a month with no records has no file.
+ * attendance/employees.idx lists the employee IDs in each partition (see employeeIndex), so
+ * whether an employee has records in a month can be answered without loading it.
+ */
+public class AttendancePartitions {
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM");
+    private static final String INDEX_FILE = "employees.idx";
+    private static final int INDEX_MAGIC = 0x4D504849; // "MPHI"
+
+    private final File directory;
+
+    public AttendancePartitions(String directory) {
+        this.directory = new File(directory);
+    }
+
+    public String fileFor(YearMonth month) {
+        return new File(directory, month.format(MONTH_FORMAT) + ".csv").getPath();
+    }
+
+    // Months that have a partition file, in order
+    public NavigableSet<YearMonth> months() {
+        NavigableSet<YearMonth> months = new TreeSet<>();
+        File[] files = directory.listFiles((dir, name) -> name.matches("\\d{4}-\\d{2}\\.csv"));
+        if (files != null) {
+            for (File file : files) {
+                try {
+                    months.add(YearMonth.parse(file.getName().substring(0, 7), MONTH_FORMAT));
+                } catch (DateTimeParseException ex) {
+                    System.err.println("Ignoring attendance file with an invalid month: " + file.getPath());
+                }
+            }
+        }
+        return months;
+    }
+
+    // Reads one month, from its binary snapshot when that is current. A month without a file is empty.
+    public List<AttendanceRecord> read(YearMonth month) throws IOException {
+        String csvFile = fileFor(month);
+        File csv = new File(csvFile);
+        long csvLength = csv.length(); // Taken before reading, so the index never pairs these IDs with a newer file
+        long csvModified = csv.lastModified();
+        if (!csv.exists()) {
+            return new ArrayList<>();
+        }
+        List<AttendanceRecord> records = null;
+        if (SnapshotFile.isFresh(csvFile)) {
+            try {
+                records = AttendanceSnapshot.read(csvFile);
+            } catch (IOException | RuntimeException ex) {
+                Logger.getLogger(AttendancePartitions.class.getName()).log(Level.WARNING, "Attendance snapshot unreadable, loading " + csvFile + " instead", ex);
+            }
+        }
+        if (records == null) {
+            try {
+                records = AttendanceCsvLoader.load(csvFile);
+            } catch (CsvValidationException ex) {
+                throw new IOException("Invalid CSV in " + csvFile, ex);
+            }
+            saveBinarySnapshot(csvFile, records); // Next load of this month can skip CSV parsing
+        }
+        if (!employeeIndex().containsKey(month)) { // e.g. partitions written before there was an index
+            saveIndexEntry(month, csvLength, csvModified, records);
+        }
+        return records;
+    }
+
+    // Replaces one month's partition with the given records, or removes it if there are none
+    public void write(YearMonth month, List<AttendanceRecord> records) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Could not create " + directory.getPath());
+        }
+        String csvFile = fileFor(month);
+        if (records.isEmpty()) {
+            Files.deleteIfExists(Paths.get(csvFile));
+            Files.deleteIfExists(Paths.get(SnapshotFile.pathFor(csvFile)));
+            saveIndexEntry(month, 0, 0, records);
+            return;
+        }
+
+        writeCsv(csvFile, records);
+        saveBinarySnapshot(csvFile, records); // Written after the CSV so it is never older than it
+        File csv = new File(csvFile);
+        saveIndexEntry(month, csv.length(), csv.lastModified(), records);
+    }
+
+    // Replaces the file in one step so it is never missing or half written, even after a crash
+    private static void writeCsv(String csvFile, List<AttendanceRecord> records) throws IOException {
+        Path temp = Paths.get(csvFile + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(temp.toFile());
+             CSVWriter writer = new CSVWriter(new OutputStreamWriter(out))) {
+            writer.writeNext(AttendanceManager.CSV_HEADER);
+            for (AttendanceRecord record : records) {
+                writer.writeNext(record.toCsvArray());
+            }
+            writer.flush();
+            out.getFD().sync();
+        }
+        Files.move(temp, Paths.get(csvFile), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // One month's entry in employees.idx: the partition's size and modification time when it was indexed, and its sorted employee IDs
+    private static final class IndexEntry {
+        final long csvLength;
+        final long csvModified;
+        final int[] employeeIds;
+
+        IndexEntry(long csvLength, long csvModified, int[] employeeIds) {
+            this.csvLength = csvLength;
+            this.csvModified = csvModified;
+            this.employeeIds = employeeIds;
+        }
+    }
+
+    /**
+     * Sorted employee IDs of every month whose partition is indexed. A month is left out if its
+     * partition changed after its entry was written (edited by hand, or a crash between the
+     * two writes), so a caller must load the months missing here to know who is in them.
+     * An unreadable index is logged and treated as empty.
+     */
+    public synchronized Map<YearMonth, int[]> employeeIndex() {
+        Map<YearMonth, int[]> index = new TreeMap<>();
+        for (Map.Entry<YearMonth, IndexEntry> entry : readIndex().entrySet()) {
+            File csv = new File(fileFor(entry.getKey()));
+            if (csv.length() == entry.getValue().csvLength && csv.lastModified() == entry.getValue().csvModified) {
+                index.put(entry.getKey(), entry.getValue().employeeIds);
+            }
+        }
+        return index;
+    }
+
+    private Map<YearMonth, IndexEntry> readIndex() {
+        Map<YearMonth, IndexEntry> entries = new TreeMap<>();
+        File file = new File(directory, INDEX_FILE);
+        if (!file.exists()) {
+            return entries;
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+            if (buffer.getInt() != INDEX_MAGIC) {
+                throw new IOException("Unrecognized header");
+            }
+            int count = buffer.getInt();
+            for (int i = 0; i < count; i++) {
+                YearMonth month = YearMonth.of(buffer.getInt(), buffer.get());
+                long csvLength = buffer.getLong();
+                long csvModified = buffer.getLong();
+                int[] employeeIds = new int[buffer.getInt()];
+                for (int e = 0; e < employeeIds.length; e++) {
+                    employeeIds[e] = buffer.getInt();
+                }
+                entries.put(month, new IndexEntry(csvLength, csvModified, employeeIds));
+            }
+        } catch (IOException | BufferUnderflowException | DateTimeException ex) {
+            Logger.getLogger(AttendancePartitions.class.getName()).log(Level.WARNING, "Ignoring unreadable attendance index " + file.getPath(), ex);
+            entries.clear();
+        }
+        return entries;
+    }
+
+    // Replaces one month's entry in employees.idx. Like the snapshot, a failure only means the month is loaded to answer lookups.
+    private synchronized void saveIndexEntry(YearMonth month, long csvLength, long csvModified, List<AttendanceRecord> records) {
+        Map<YearMonth, IndexEntry> entries = readIndex();
+        if (records.isEmpty()) {
+            entries.remove(month);
+        } else {
+            int[] employeeIds = records.stream().mapToInt(AttendanceRecord::getEmployeeId).distinct().sorted().toArray();
+            entries.put(month, new IndexEntry(csvLength, csvModified, employeeIds));
+        }
+
+        Path target = new File(directory, INDEX_FILE).toPath();
+        Path temp = new File(directory, INDEX_FILE + ".tmp").toPath();
+        try {
+            try (FileOutputStream file = new FileOutputStream(temp.toFile());
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+                out.writeInt(INDEX_MAGIC);
+                out.writeInt(entries.size());
+                for (Map.Entry<YearMonth, IndexEntry> entry : entries.entrySet()) {
+                    out.writeInt(entry.getKey().getYear());
+                    out.writeByte(entry.getKey().getMonthValue());
+                    out.writeLong(entry.getValue().csvLength);
+                    out.writeLong(entry.getValue().csvModified);
+                    out.writeInt(entry.getValue().employeeIds.length);
+                    for (int employeeId : entry.getValue().employeeIds) {
+                        out.writeInt(employeeId);
+                    }
+                }
+                out.flush();
+                file.getFD().sync();
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            Logger.getLogger(AttendancePartitions.class.getName()).log(Level.WARNING, "Could not update attendance index for " + month, ex);
+        }
+    }
+
+    // True if the sorted IDs from employeeIndex contain the employee
+    public static boolean contains(int[] employeeIds, int employeeId) {
+        return Arrays.binarySearch(employeeIds, employeeId) >= 0;
+    }
+
+    /**
+     * One-time split of the old single attendance file into monthly partitions.
+     * The partitions are written to a temporary directory that is renamed into place, then the
+     * old file is kept as a backup (attendance.csv.bak). Does nothing if the partition
+     * directory already exists; creates an empty one if there is no old file either.
+     * A second row for the same employee and day is not moved: the first one is kept and the others
+     * are written to attendance.duplicates.csv for review. Any unreadable row fails the whole split
+     * with an IOException and leaves the old file untouched.
+     */
+    public void migrateFrom(String singleFile) throws IOException {
+        if (directory.isDirectory()) {
+            return;
+        }
+        File source = new File(singleFile);
+        if (!source.exists()) {
+            if (!directory.mkdirs()) {
+                throw new IOException("Could not create " + directory.getPath());
+            }
+            return;
+        }
+
+        List<AttendanceRecord> records;
+        try {
+            records = AttendanceCsvLoader.load(singleFile);
+        } catch (CsvValidationException ex) {
+            throw new IOException("Invalid CSV in " + singleFile, ex);
+        } catch (RuntimeException ex) { // A row whose ID, date or time does not parse
+            throw new IOException("Invalid attendance row in " + singleFile + ": " + ex.getMessage(), ex);
+        }
+        Map<YearMonth, List<AttendanceRecord>> byMonth = new TreeMap<>();
+        List<AttendanceRecord> duplicates = new ArrayList<>();
+        AttendanceKeySet seen = new AttendanceKeySet(records.size());
+        int moved = 0;
+        for (AttendanceRecord record : records) {
+            if (!seen.add(AttendanceKeySet.key(record.getEmployeeId(), record.getDate()))) {
+                duplicates.add(record);
+                continue;
+            }
+            byMonth.computeIfAbsent(YearMonth.from(record.getDate()), month -> new ArrayList<>()).add(record);
+            moved++;
+        }
+        String duplicatesFile = (singleFile.endsWith(".csv") ? singleFile.substring(0, singleFile.length() - 4) : singleFile) + ".duplicates.csv";
+        if (!duplicates.isEmpty()) {
+            writeCsv(duplicatesFile, duplicates); // Before the split, so a failure here leaves nothing half done
+            Logger.getLogger(AttendancePartitions.class.getName()).log(Level.WARNING, "{0} duplicate attendance rows in {1} were not moved, see {2}",
+                    new Object[]{duplicates.size(), singleFile, duplicatesFile});
+        }
+
+        // Start over if an earlier migration was interrupted
+        AttendancePartitions staging = new AttendancePartitions(directory.getPath() + ".migrating");
+        if (staging.directory.exists()) {
+            for (File file : staging.directory.listFiles()) {
+                Files.delete(file.toPath());
+            }
+        }
+        for (Map.Entry<YearMonth, List<AttendanceRecord>> month : byMonth.entrySet()) {
+            staging.write(month.getKey(), month.getValue());
+        }
+        if (!staging.directory.exists() && !staging.directory.mkdirs()) {
+            throw new IOException("Could not create " + staging.directory.getPath());
+        }
+        Files.move(staging.directory.toPath(), directory.toPath(), StandardCopyOption.ATOMIC_MOVE);
+
+        Files.move(source.toPath(), Paths.get(singleFile + ".bak"), StandardCopyOption.REPLACE_EXISTING);
+        Files.deleteIfExists(Paths.get(SnapshotFile.pathFor(singleFile)));
+        System.out.println("Moved " + moved + " attendance records from " + singleFile + " into " + byMonth.size()
+                + " monthly files in " + directory.getPath() + " (backup kept as " + singleFile + ".bak)");
+        if (!duplicates.isEmpty()) {
+            System.out.println(duplicates.size() + " duplicate rows (a second record for the same employee and day) were not moved."
+                    + " They are listed in " + duplicatesFile + ".");
+        }
+    }
+
+    // A missing or stale snapshot only costs a CSV parse the next time the month is loaded, so failures are not fatal
+    private static void saveBinarySnapshot(String csvFile, List<AttendanceRecord> records) {
+        try {
+            AttendanceSnapshot.write(csvFile, records);
+        } catch (IOException ex) {
+            Logger.getLogger(AttendancePartitions.class.getName()).log(Level.WARNING, "Could not write attendance snapshot for " + csvFile, ex);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.mycompany.motorphpayrollsystem;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary snapshot of attendance.csv (see SnapshotFile).
+ * Payload: a table of distinct (last name, first name) pairs, then one fixed-width 28 byte
+ * entry per record: employee ID, epoch day, nano of day in, nano of day out, name index.
+ * Times keep full precision, as the journal does, so a punch at 8:10:30 stays 8:10:30.
+ */
+public final class AttendanceSnapshot {
+
+    private AttendanceSnapshot() {
+    }
+
+    public static void write(String csvFile, List<AttendanceRecord> records) throws IOException {
+        Map<String, Integer> nameIndex = new HashMap<>();
+        List<String[]> names = new ArrayList<>();
+        int[] recordNames = new int[records.size()];
+        for (int i = 0; i < records.size(); i++) {
+            AttendanceRecord record = records.get(i);
+            String key = record.getLastName() + '\u0000' + record.getFirstName();
+            Integer index = nameIndex.get(key);
+            if (index == null) {
+                index = names.size();
+                nameIndex.put(key, index);
+                names.add(new String[]{record.getLastName(), record.getFirstName()});
+            }
+            recordNames[i] = index;
+        }
+
+        SnapshotFile.write(csvFile, SnapshotFile.TYPE_ATTENDANCE, out -> {
+            out.writeInt(names.size());
+            for (String[] name : names) {
+                SnapshotFile.writeString(out, name[0]);
+                SnapshotFile.writeString(out, name[1]);
+            }
+            out.writeInt(records.size());
+            for (int i = 0; i < records.size(); i++) {
+                AttendanceRecord record = records.get(i);
+                out.writeInt(record.getEmployeeId());
+                out.writeInt((int) record.getDate().toEpochDay());
+                out.writeLong(record.getTimeIn().toNanoOfDay());
+                out.writeLong(record.getTimeOut().toNanoOfDay());
+                out.writeInt(recordNames[i]);
+            }
+        });
+    }
+
+    public static List<AttendanceRecord> read(String csvFile) throws IOException {
+        ByteBuffer buffer = SnapshotFile.read(csvFile, SnapshotFile.TYPE_ATTENDANCE);
+        String[][] names = new String[buffer.getInt()][];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = new String[]{SnapshotFile.readString(buffer), SnapshotFile.readString(buffer)};
+        }
+        int count = buffer.getInt();
+        List<AttendanceRecord> records = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int employeeId = buffer.getInt();
+            LocalDate date = LocalDate.ofEpochDay(buffer.getInt());
+            LocalTime timeIn = AttendanceFieldParser.time(buffer.getLong());
+            LocalTime timeOut = AttendanceFieldParser.time(buffer.getLong());
+            String[] name = names[buffer.getInt()];
+            records.add(new AttendanceRecord(employeeId, name[0], name[1],
+                    AttendanceFieldParser.date(date.getYear(), date.getMonthValue(), date.getDayOfMonth()), timeIn, timeOut));
+        }
+        return records;
+    }
+}
@@ -0,0 +1,29 @@
+package com.mycompany.motorphpayrollsystem;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Query and update methods shared by the attendance stores
+ * (AttendanceManager and ColumnarAttendanceStore).
+ */
+public interface AttendanceStore {
+
+    AttendanceRecord getEmployeeById(int employeeId);
+
+    List<AttendanceRecord> getAttendanceByEmployeeId(int employeeId);
+
+    // Records of one employee from 'from' to 'to' (both inclusive), sorted by date
+    List<AttendanceRecord> getAttendance(int employeeId, LocalDate from, LocalDate to);
+
+    // Totals of the records getAttendance would return for the same arguments
+    AttendanceSummary getSummary(int employeeId, LocalDate from, LocalDate to);
+
+    List<AttendanceRecord> getAllAttendanceRecords();
+
+    // Returns false if the employee already has a record for that date
+    boolean addAttendanceRecord(AttendanceRecord newRecord);
+
+    boolean deleteRecord(int employeeId) throws IOException;
+}
@@ -0,0 +1,101 @@
+package com.mycompany.motorphpayrollsystem;
+
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Totals of a list of attendance records, computed in one pass.
+ * Payslip calculations used to walk the records once per figure (regular hours, overtime,
+ * tardiness) and again inside the gross and deduction methods; they now all read one summary.
+ * Totals are kept in whole minutes, so they can also be added and subtracted exactly, which is
+ * how AttendanceManager keeps a running summary per employee and month (see getSummary there).
+ */
+public final class AttendanceSummary {
+    private static final long GRACE_PERIOD_NANOS = LocalTime.of(8, 10).toNanoOfDay(); // Time in after 8:10 counts as tardy
+    public static final AttendanceSummary EMPTY = new AttendanceSummary(0, 0, 0, 0);
+
+    private final long regularMinutes;
+    private final long overtimeMinutes;
+    private final long tardyMinutes;
+    private final int daysPresent;
+
+    AttendanceSummary(long regularMinutes, long overtimeMinutes, long tardyMinutes, int daysPresent) {
+        this.regularMinutes = regularMinutes;
+        this.overtimeMinutes = overtimeMinutes;
+        this.tardyMinutes = tardyMinutes;
+        this.daysPresent = daysPresent;
+    }
+
+    public static AttendanceSummary of(List<AttendanceRecord> attendanceRecords) {
+        long regularMinutes = 0;
+        long overtimeMinutes = 0;
+        long tardyMinutes = 0;
+        for (AttendanceRecord record : attendanceRecords) {
+            regularMinutes += regularMinutes(record);
+            overtimeMinutes += overtimeMinutes(record);
+            tardyMinutes += tardyMinutes(record);
+        }
+        // AttendanceManager keeps one record per employee per day, so each record is a day present
+        return new AttendanceSummary(regularMinutes, overtimeMinutes, tardyMinutes, attendanceRecords.size());
+    }
+
+    // Minutes worked up to 8 hours, after the 1 hour lunch break
+    static long regularMinutes(AttendanceRecord record) {
+        return Math.min(minutesWorked(record) - 60, 8 * 60);
+    }
+
+    // Minutes worked beyond 8 hours, after the 1 hour lunch break
+    static long overtimeMinutes(AttendanceRecord record) {
+        return Math.max(minutesWorked(record) - 60 - 8 * 60, 0);
+    }
+
+    static long tardyMinutes(AttendanceRecord record) {
+        long timeIn = record.getTimeIn().toNanoOfDay();
+        return timeIn > GRACE_PERIOD_NANOS ? minutesBetween(GRACE_PERIOD_NANOS, timeIn) : 0;
+    }
+
+    private static long minutesWorked(AttendanceRecord record) {
+        return minutesBetween(record.getTimeIn().toNanoOfDay(), record.getTimeOut().toNanoOfDay());
+    }
+
+    // Same value as Duration.between(start, end).toMinutes(), without creating a Duration
+    private static long minutesBetween(long startNanoOfDay, long endNanoOfDay) {
+        return Math.floorDiv(endNanoOfDay - startNanoOfDay, 1_000_000_000L) / 60;
+    }
+
+    // Totals of both summaries, e.g. of two periods that do not overlap
+    public AttendanceSummary plus(AttendanceSummary other) {
+        return new AttendanceSummary(regularMinutes + other.regularMinutes, overtimeMinutes + other.overtimeMinutes,
+                tardyMinutes + other.tardyMinutes, daysPresent + other.daysPresent);
+    }
+
+    // Hours worked up to 8 per day, after the 1 hour lunch break
+    public double getRegularHours() {
+        return regularMinutes / 60.0;
+    }
+
+    // Hours worked beyond 8 per day
+    public double getOvertimeHours() {
+        return overtimeMinutes / 60.0;
+    }
+
+    public long getRegularMinutes() {
+        return regularMinutes;
+    }
+
+    public long getOvertimeMinutes() {
+        return overtimeMinutes;
+    }
+
+    public long getTardyMinutes() {
+        return tardyMinutes;
+    }
+
+    public double getTardinessHours() {
+        return tardyMinutes / 60.0;
+    }
+
+    public int getDaysPresent() {
+        return daysPresent;
+    }
+}
@@ -0,0 +1,235 @@
+package com.mycompany.motorphpayrollsystem;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Front end for bursts of clock-ins, e.g. the whole company punching in between 7:50 and 8:10.
+ * Kiosk or request-handler threads call submit(), which only appends to a lock-free queue.
+ * One applier thread drains the queue in batches and hands each batch to
+ * AttendanceManager.importAttendance, which validates, dedupes and journals it in one append.
+ * Punches that fail validation (e.g. a second punch for the same day) are counted as rejected.
+ * A batch that cannot be applied at all (the journal cannot be written, or a month cannot be
+ * loaded) is counted as failed and the applier goes on with the next one. Should the applier
+ * thread die anyway, submit() refuses further punches rather than queueing them where nothing
+ * will ever drain them.
+ */
+public class ClockInIngestor {
+    public static final int DEFAULT_MAX_BATCH = 512;
+    private static final long IDLE_PARK_NANOS = 1_000_000; // Upper bound on how long a punch waits when the applier is idle
+
+    private final AttendanceManager attendanceManager;
+    private final int maxBatch;
+    private final MpscQueue<AttendanceRecord> queue = new MpscQueue<>();
+    private final LatencyHistogram enqueueLatency = new LatencyHistogram();
+    private final LongAdder submitted = new LongAdder();
+    private final AtomicLong applied = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong firstSubmitNanos = new AtomicLong();
+    private volatile long lastApplyNanos;
+    private volatile boolean running;
+    private volatile boolean applierIdle;
+    private volatile Throwable applierFailure; // Set if the applier thread died, see submit
+    private Thread applier;
+
+    public ClockInIngestor(AttendanceManager attendanceManager) {
+        this(attendanceManager, DEFAULT_MAX_BATCH);
+    }
+
+    public ClockInIngestor(AttendanceManager attendanceManager, int maxBatch) {
+        this.attendanceManager = attendanceManager;
+        this.maxBatch = Math.max(1, maxBatch);
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        applier = new Thread(this::runApplier, "clock-in-applier");
+        applier.setDaemon(true);
+        applier.setUncaughtExceptionHandler((thread, ex) -> {
+            applierFailure = ex;
+            Logger.getLogger(ClockInIngestor.class.getName()).log(Level.SEVERE, "Clock-in applier stopped, queued punches will not be saved", ex);
+        });
+        applier.start();
+    }
+
+    /**
+     * Stops accepting work once everything already queued is applied.
+     * Call it after the producer threads have stopped submitting.
+     */
+    public synchronized void shutdown() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(applier);
+        applier.join();
+    }
+
+    /**
+     * Queues a punch in constant time, it is applied asynchronously by the applier thread.
+     * Throws IllegalStateException if the applier thread has died.
+     */
+    public void submit(AttendanceRecord punch) {
+        if (applierFailure != null) {
+            throw new IllegalStateException("Clock-in applier stopped: " + applierFailure, applierFailure);
+        }
+        long start = System.nanoTime();
+        queue.offer(punch);
+        enqueueLatency.record(System.nanoTime() - start);
+        submitted.increment();
+        firstSubmitNanos.compareAndSet(0, start);
+        if (applierIdle) {
+            LockSupport.unpark(applier);
+        }
+    }
+
+    private void runApplier() {
+        List<AttendanceRecord> batch = new ArrayList<>(maxBatch);
+        while (running || !queue.isEmpty()) {
+            queue.drainTo(batch, maxBatch);
+            if (batch.isEmpty()) {
+                applierIdle = true;
+                if (running && queue.isEmpty()) { // Checked after publishing applierIdle so a new punch cannot be missed
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                applierIdle = false;
+                continue;
+            }
+            applyBatch(batch);
+            batch.clear();
+        }
+    }
+
+    private void applyBatch(List<AttendanceRecord> batch) {
+        try {
+            AttendanceImportResult result = attendanceManager.importAttendance(batch.stream());
+            applied.addAndGet(result.getAcceptedCount());
+            rejected.addAndGet(result.getRejectedCount());
+        } catch (IOException | RuntimeException ex) { // e.g. UncheckedIOException from a month that cannot be loaded
+            failed.addAndGet(batch.size());
+            Logger.getLogger(ClockInIngestor.class.getName()).log(Level.SEVERE, "Could not save " + batch.size() + " clock-ins", ex);
+        }
+        lastApplyNanos = System.nanoTime();
+    }
+
+    public long getSubmittedCount() {
+        return submitted.sum();
+    }
+
+    public long getAppliedCount() {
+        return applied.get();
+    }
+
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    // True while the applier thread runs, i.e. between start() and shutdown() unless it died
+    public synchronized boolean isApplierAlive() {
+        return applier != null && applier.isAlive();
+    }
+
+    // Punches processed per second from the first submit to the most recent applied batch
+    public double getPunchesPerSecond() {
+        long first = firstSubmitNanos.get();
+        long processed = applied.get() + rejected.get() + failed.get();
+        if (first == 0 || processed == 0 || lastApplyNanos <= first) {
+            return 0;
+        }
+        return processed * 1e9 / (lastApplyNanos - first);
+    }
+
+    // Enqueue latency in nanoseconds at the given percentile (0-100), accurate to within 12.5%
+    public long getEnqueueLatencyPercentile(double percentile) {
+        return enqueueLatency.percentile(percentile);
+    }
+
+    public String report() {
+        StringBuilder report = new StringBuilder();
+        report.append("--- Clock-in ingestion ---\n");
+        report.append(String.format("Submitted: %,d  Applied: %,d  Rejected: %,d  Failed: %,d%n",
+                getSubmittedCount(), getAppliedCount(), getRejectedCount(), getFailedCount()));
+        report.append(String.format("Sustained rate: %,.0f punches/sec%n", getPunchesPerSecond()));
+        report.append(String.format("Enqueue latency: p50 %,d ns, p99 %,d ns, max %,d ns%n",
+                enqueueLatency.percentile(50), enqueueLatency.percentile(99), enqueueLatency.max()));
+        return report.toString();
+    }
+
+    /**
+     * Lock-free histogram of nanosecond values. Values below 16 get their own bucket, larger
+     * values are grouped by power of two and split into 8 sub-buckets, so a reported
+     * percentile is at most 12.5% above the true value.
+     */
+    static class LatencyHistogram {
+        private static final int SUB_BUCKETS = 8;
+        private static final int LINEAR_LIMIT = 16;
+
+        private final AtomicLongArray counts = new AtomicLongArray(LINEAR_LIMIT + (63 - 4) * SUB_BUCKETS);
+        private final AtomicLong maxValue = new AtomicLong();
+
+        void record(long nanos) {
+            long value = Math.max(0, nanos);
+            counts.incrementAndGet(bucket(value));
+            long max = maxValue.get();
+            while (value > max && !maxValue.compareAndSet(max, value)) {
+                max = maxValue.get();
+            }
+        }
+
+        long max() {
+            return maxValue.get();
+        }
+
+        long percentile(double percentile) {
+            long total = 0;
+            for (int i = 0; i < counts.length(); i++) {
+                total += counts.get(i);
+            }
+            if (total == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(total * percentile / 100.0));
+            long seen = 0;
+            for (int i = 0; i < counts.length(); i++) {
+                seen += counts.get(i);
+                if (seen >= rank) {
+                    return Math.min(upperBound(i), maxValue.get());
+                }
+            }
+            return maxValue.get();
+        }
+
+        private static int bucket(long value) {
+            if (value < LINEAR_LIMIT) {
+                return (int) value;
+            }
+            int exponent = 63 - Long.numberOfLeadingZeros(value); // 4 or more
+            int sub = (int) (value >>> (exponent - 3)) & (SUB_BUCKETS - 1);
+            return LINEAR_LIMIT + (exponent - 4) * SUB_BUCKETS + sub;
+        }
+
+        private static long upperBound(int bucket) {
+            if (bucket < LINEAR_LIMIT) {
+                return bucket;
+            }
+            int exponent = (bucket - LINEAR_LIMIT) / SUB_BUCKETS + 4;
+            int sub = (bucket - LINEAR_LIMIT) % SUB_BUCKETS;
+            return ((long) (SUB_BUCKETS + sub + 1) << (exponent - 3)) - 1;
+        }
+    }
+}
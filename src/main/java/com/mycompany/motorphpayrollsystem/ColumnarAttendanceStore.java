@@ -0,0 +1,205 @@
+package com.mycompany.motorphpayrollsystem;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory attendance store that keeps each field in its own primitive array
+ * (employee ID, epoch day, minute in, minute out) instead of one object per punch.
+ * Names are not stored per row; they are looked up from EmployeeManager when records are returned.
+ * Times are kept to the minute, which is the layout AttendanceKernel sums in bulk.
+ *
+ * AttendanceManager remains the application's store: it journals and partitions every change
+ * and keeps punches to the second, both of which this class leaves out. This class is a
+ * read-mostly copy for bulk work over loaded history, where memory matters more than seconds.
+ * AttendanceMemoryCheck measures it at about 42 bytes per record, against about 109 for AttendanceManager.
+ */
+public class ColumnarAttendanceStore implements AttendanceStore {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final EmployeeManager employeeManager;
+    private int[] employeeIds = new int[INITIAL_CAPACITY];
+    private int[] epochDays = new int[INITIAL_CAPACITY];
+    private short[] minuteIn = new short[INITIAL_CAPACITY];
+    private short[] minuteOut = new short[INITIAL_CAPACITY];
+    private int size;
+
+    private final Map<Integer, RowList> rowsByEmployee = new HashMap<>(); // Row numbers per employee, sorted by date
+    private final AttendanceKeySet recordedDays = new AttendanceKeySet();
+
+    // Growable list of row numbers kept in date order
+    private static class RowList {
+        int[] rows = new int[16];
+        int size;
+    }
+
+    public ColumnarAttendanceStore(EmployeeManager employeeManager) {
+        this.employeeManager = employeeManager;
+    }
+
+    public static ColumnarAttendanceStore from(List<AttendanceRecord> records, EmployeeManager employeeManager) {
+        ColumnarAttendanceStore store = new ColumnarAttendanceStore(employeeManager);
+        for (AttendanceRecord record : records) {
+            store.addAttendanceRecord(record);
+        }
+        return store;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean addAttendanceRecord(AttendanceRecord newRecord) {
+        int employeeId = newRecord.getEmployeeId();
+        int epochDay = (int) newRecord.getDate().toEpochDay();
+        if (!recordedDays.add(AttendanceKeySet.key(employeeId, epochDay))) {
+            return false;
+        }
+        if (size == employeeIds.length) {
+            int capacity = size * 2;
+            employeeIds = Arrays.copyOf(employeeIds, capacity);
+            epochDays = Arrays.copyOf(epochDays, capacity);
+            minuteIn = Arrays.copyOf(minuteIn, capacity);
+            minuteOut = Arrays.copyOf(minuteOut, capacity);
+        }
+        int row = size++;
+        employeeIds[row] = employeeId;
+        epochDays[row] = epochDay;
+        minuteIn[row] = (short) minuteOfDay(newRecord.getTimeIn());
+        minuteOut[row] = (short) minuteOfDay(newRecord.getTimeOut());
+        insertRow(rowsByEmployee.computeIfAbsent(employeeId, id -> new RowList()), row);
+        return true;
+    }
+
+    public boolean deleteRecord(int employeeId) {
+        if (rowsByEmployee.remove(employeeId) == null) {
+            return false;
+        }
+        // Compact the columns, then rebuild the row index since row numbers have shifted
+        int kept = 0;
+        for (int row = 0; row < size; row++) {
+            if (employeeIds[row] == employeeId) {
+                recordedDays.remove(AttendanceKeySet.key(employeeId, epochDays[row]));
+                continue;
+            }
+            employeeIds[kept] = employeeIds[row];
+            epochDays[kept] = epochDays[row];
+            minuteIn[kept] = minuteIn[row];
+            minuteOut[kept] = minuteOut[row];
+            kept++;
+        }
+        size = kept;
+        rowsByEmployee.clear();
+        for (int row = 0; row < size; row++) {
+            insertRow(rowsByEmployee.computeIfAbsent(employeeIds[row], id -> new RowList()), row);
+        }
+        return true;
+    }
+
+    public AttendanceRecord getEmployeeById(int employeeId) {
+        RowList rows = rowsByEmployee.get(employeeId);
+        return rows == null || rows.size == 0 ? null : toRecord(rows.rows[0]);
+    }
+
+    public List<AttendanceRecord> getAttendanceByEmployeeId(int employeeId) {
+        RowList rows = rowsByEmployee.get(employeeId);
+        if (rows == null) {
+            return new ArrayList<>();
+        }
+        return toRecords(rows, 0, rows.size);
+    }
+
+    public List<AttendanceRecord> getAttendance(int employeeId, LocalDate from, LocalDate to) {
+        RowList rows = rowsByEmployee.get(employeeId);
+        if (rows == null || to.isBefore(from)) {
+            return new ArrayList<>();
+        }
+        int start = lowerBound(rows, (int) from.toEpochDay());
+        int end = lowerBound(rows, (int) to.toEpochDay() + 1);
+        return toRecords(rows, start, end);
+    }
+
+    // Summed straight from the minute columns by AttendanceKernel, no records are built
+    public AttendanceSummary getSummary(int employeeId, LocalDate from, LocalDate to) {
+        RowList rows = rowsByEmployee.get(employeeId);
+        if (rows == null || to.isBefore(from)) {
+            return AttendanceSummary.EMPTY;
+        }
+        int start = lowerBound(rows, (int) from.toEpochDay());
+        int end = lowerBound(rows, (int) to.toEpochDay() + 1);
+        // An employee's rows are spread through the columns, so gather them next to each other first
+        short[] in = new short[end - start];
+        short[] out = new short[end - start];
+        for (int i = start; i < end; i++) {
+            in[i - start] = minuteIn[rows.rows[i]];
+            out[i - start] = minuteOut[rows.rows[i]];
+        }
+        return AttendanceKernel.summarize(in, out, 0, in.length);
+    }
+
+    // Totals of every record in the store, in one pass over the minute columns
+    public AttendanceSummary getTotalSummary() {
+        return AttendanceKernel.summarize(minuteIn, minuteOut, 0, size);
+    }
+
+    public List<AttendanceRecord> getAllAttendanceRecords() {
+        List<AttendanceRecord> records = new ArrayList<>(size);
+        for (int row = 0; row < size; row++) {
+            records.add(toRecord(row));
+        }
+        return records;
+    }
+
+    private List<AttendanceRecord> toRecords(RowList rows, int start, int end) {
+        List<AttendanceRecord> records = new ArrayList<>(Math.max(0, end - start));
+        for (int i = start; i < end; i++) {
+            records.add(toRecord(rows.rows[i]));
+        }
+        return records;
+    }
+
+    // Builds a record for one row, with the names taken from the employee's current details
+    private AttendanceRecord toRecord(int row) {
+        int employeeId = employeeIds[row];
+        Employee employee = employeeManager.getEmployeeById(employeeId);
+        String lastName = employee != null ? employee.getLastName() : "";
+        String firstName = employee != null ? employee.getFirstName() : "";
+        return new AttendanceRecord(employeeId, lastName, firstName, LocalDate.ofEpochDay(epochDays[row]),
+                AttendanceFieldParser.time(minuteIn[row]), AttendanceFieldParser.time(minuteOut[row]));
+    }
+
+    // Inserts a row number keeping the list sorted by date
+    private void insertRow(RowList rows, int row) {
+        int position = lowerBound(rows, epochDays[row] + 1);
+        if (rows.size == rows.rows.length) {
+            rows.rows = Arrays.copyOf(rows.rows, rows.size * 2);
+        }
+        System.arraycopy(rows.rows, position, rows.rows, position + 1, rows.size - position);
+        rows.rows[position] = row;
+        rows.size++;
+    }
+
+    // First position in the list whose date is on or after epochDay
+    private int lowerBound(RowList rows, int epochDay) {
+        int low = 0;
+        int high = rows.size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (epochDays[rows.rows[mid]] < epochDay) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int minuteOfDay(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+}
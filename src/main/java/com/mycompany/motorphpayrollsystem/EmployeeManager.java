@@ -10,13 +10,21 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
 public class EmployeeManager {
     private static EmployeeManager instance; // Singleton instance
     private List<Employee> employees;
     private static final String csvFile = "employees.csv"; // CSV file name
+    private final TombstoneLog deletedEmployees = new TombstoneLog(csvFile); // employees.deleted
+    private final AtomicLong dataVersion = new AtomicLong(); // Bumped by every add, edit and delete
+    private volatile Set<Integer> employeeIds; // Read-only copy of the IDs, built on first use and dropped by every add and delete
 
     // Private constructor for Singleton pattern
     private EmployeeManager() {
@@ -36,6 +44,33 @@ public class EmployeeManager {
         return Collections.unmodifiableList(employees); // Return unmodifiable list
     }
 
+    /**
+     * Read-only copy of the current employee IDs, safe to use off the Swing thread.
+     * The copy is taken under the same lock as adds and deletes and shared until the next one,
+     * so callers that ask often (e.g. the clock-in applier, once per batch) do not walk the list each time.
+     */
+    public Set<Integer> getEmployeeIds() {
+        Set<Integer> ids = employeeIds;
+        if (ids != null) {
+            return ids;
+        }
+        synchronized (this) {
+            if (employeeIds == null) {
+                Set<Integer> copy = new HashSet<>(employees.size() * 2);
+                for (Employee employee : employees) {
+                    copy.add(employee.getEmployeeId());
+                }
+                employeeIds = Collections.unmodifiableSet(copy);
+            }
+            return employeeIds;
+        }
+    }
+
+    // Changes whenever an employee is added, edited or deleted, see AttendanceManager.getDataVersion
+    public long getDataVersion() {
+        return dataVersion.get();
+    }
+
     public Employee getEmployeeById(int employeeId) {
         for (Employee employee : employees) {
             if (employee.getEmployeeId() == employeeId) {
@@ -49,6 +84,10 @@ public class EmployeeManager {
 
     private void loadEmployeesFromFile() {
         employees.clear(); // Clear existing list before loading
+        if (loadBinarySnapshot()) {
+            dropDeletedEmployees();
+            return;
+        }
         try (CSVReader reader = new CSVReader(new FileReader(csvFile))) {
             List<String[]> allRows = reader.readAll();
             if (allRows.isEmpty()) {
@@ -72,6 +111,8 @@ public class EmployeeManager {
                 reader.close();
             }
             System.out.println("Employees loaded from " + csvFile);
+            saveBinarySnapshot(dataRows); // Next startup can skip CSV parsing
+            dropDeletedEmployees();
         } catch (IOException e) {
             System.err.println("Could not read " + csvFile + ". Creating new file on save. Error: " + e.getMessage());
             
@@ -80,9 +121,52 @@ public class EmployeeManager {
         }
     }
 
+    // Loads employees from the binary snapshot if it is at least as new as the CSV
+    private boolean loadBinarySnapshot() {
+        if (!SnapshotFile.isFresh(csvFile)) {
+            return false;
+        }
+        try {
+            for (String[] row : SnapshotFile.readRows(csvFile, SnapshotFile.TYPE_EMPLOYEES)) {
+                Employee employee = Employee.fromCsvArray(row);
+                if (employee != null) {
+                    employees.add(employee);
+                }
+            }
+            System.out.println("Employees loaded from " + SnapshotFile.pathFor(csvFile));
+            return true;
+        } catch (IOException | RuntimeException e) {
+            Logger.getLogger(EmployeeManager.class.getName()).log(Level.WARNING, "Employee snapshot unreadable, loading " + csvFile + " instead", e);
+            employees.clear();
+            return false;
+        }
+    }
+
+    // Deleted employees stay in employees.csv until the next full save, so they are skipped here
+    private void dropDeletedEmployees() {
+        try {
+            Set<Integer> deleted = deletedEmployees.read();
+            if (!deleted.isEmpty()) {
+                employees.removeIf(e -> deleted.contains(e.getEmployeeId()));
+            }
+        } catch (IOException e) {
+            Logger.getLogger(EmployeeManager.class.getName()).log(Level.SEVERE, "Could not read deleted employee IDs", e);
+        }
+    }
+
+    // A missing or stale snapshot only costs a CSV parse at the next startup, so failures are not fatal
+    private void saveBinarySnapshot(List<String[]> rows) {
+        try {
+            SnapshotFile.writeRows(csvFile, SnapshotFile.TYPE_EMPLOYEES, rows);
+        } catch (IOException e) {
+            Logger.getLogger(EmployeeManager.class.getName()).log(Level.WARNING, "Could not write employee snapshot", e);
+        }
+    }
+
     private void saveEmployeesToFile() throws IOException {
         
         String tempFile = "employees.tmp";
+        List<String[]> rows = new ArrayList<>();
         
         try (CSVWriter writer = new CSVWriter(new FileWriter(tempFile))) {
             // Write header
@@ -98,12 +182,14 @@ public class EmployeeManager {
                 employeeData[i] = employeeData[i].replace(",", ";"); // Replaces commas with semicolons
             }
              writer.writeNext(employeeData);   
+             rows.add(employeeData);
             }        
             
           }            
             
           File originalFile = new File(csvFile);
           File temp = new File(tempFile);
+          deletedEmployees.markSaved(temp); // Deleted rows logged so far are not in the new file
             
           if (!originalFile.delete()) {
           System.err.println("Failed to delete original CSV file.");
@@ -113,7 +199,8 @@ public class EmployeeManager {
               System.err.println("Failed to rename temp file to original CSV file.");
           } else {
               System.out.println("Employees saved to " + csvFile);
-            
+              saveBinarySnapshot(rows); // Written after the CSV so it is never older than it
+              deletedEmployees.clear(); // The saved file no longer has the deleted rows
         }
     }
 
@@ -121,7 +208,7 @@ public class EmployeeManager {
 
     // --- Employee Management Methods ---
 
-    public boolean addEmployee(int employeeId, String firstName, String lastName, String birthday, String position,
+    public synchronized boolean addEmployee(int employeeId, String firstName, String lastName, String birthday, String position,
                                double hourlyRate, double salary, String sssNo, String philhealthNo, String tin, String pagibigNo) throws IOException {
         if (getEmployeeById(employeeId) != null) {
             System.out.println("Error: Employee with ID " + employeeId + " already exists.");
@@ -130,6 +217,8 @@ public class EmployeeManager {
         Employee newEmployee = new Employee(employeeId, firstName, lastName, birthday, position,
                                             hourlyRate, salary, sssNo, philhealthNo, tin, pagibigNo);
         employees.add(newEmployee);
+        employeeIds = null;
+        dataVersion.incrementAndGet();
         saveEmployeesToFile(); // Save changes after adding
         System.out.println("Employee " + newEmployee.getFullName() + " added successfully.");
         return true;
@@ -150,6 +239,7 @@ public class EmployeeManager {
             if (!newPhilhealthNo.isEmpty()) employee.setPhilhealthNo(newPhilhealthNo);
             if (!newTin.isEmpty()) employee.setTin(newTin);
             if (!newPagibigNo.isEmpty()) employee.setPagibigNo(newPagibigNo);
+            dataVersion.incrementAndGet(); // A rate or salary change changes every payslip of the employee
 
             saveEmployeesToFile(); // Save changes after editing
             System.out.println("Employee " + employeeId + " details updated.");
@@ -160,10 +250,12 @@ public class EmployeeManager {
         }
     }
 
-    public boolean deleteEmployee(int employeeId) throws IOException {
+    public synchronized boolean deleteEmployee(int employeeId) throws IOException {
         boolean removed = employees.removeIf(e -> e.getEmployeeId() == employeeId);
         if (removed) {
-            saveEmployeesToFile(); // Save changes after deleting
+            employeeIds = null;
+            dataVersion.incrementAndGet();
+            deletedEmployees.append(employeeId); // Tombstone instead of rewriting employees.csv
             System.out.println("Employee " + employeeId + " deleted successfully.");
         } else {
             System.out.println("Employee " + employeeId + " not found.");
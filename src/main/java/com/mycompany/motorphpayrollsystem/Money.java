@@ -0,0 +1,50 @@
+package com.mycompany.motorphpayrollsystem;
+
+/**
+ * Peso amounts as long centavos (P 1,234.56 is 123456L) for payroll arithmetic.
+ * Amounts are plain longs, so a calculation allocates nothing; this class only holds the
+ * conversions and the rounding rule. The rule is the same everywhere: a result that does not
+ * come out to a whole centavo is rounded HALF_UP (to the nearest centavo, ties away from zero),
+ * once, from its exact value.
+ */
+public final class Money {
+    public static final long CENTAVOS_PER_PESO = 100;
+
+    private Money() {
+    }
+
+    /**
+     * Converts a peso amount to centavos, rounding HALF_UP.
+     * Meant for entered amounts such as salaries and hourly rates, which have at most two
+     * decimals; a value like 535.71 is stored as 535.7100000000000364 and becomes 53571.
+     */
+    public static long ofPesos(double pesos) {
+        long centavos = Math.round(Math.abs(pesos) * CENTAVOS_PER_PESO);
+        return pesos < 0 ? -centavos : centavos;
+    }
+
+    // The nearest double, so "%.2f" prints the exact amount
+    public static double toPesos(long centavos) {
+        return centavos / (double) CENTAVOS_PER_PESO;
+    }
+
+    // numerator / denominator rounded HALF_UP; denominator must be positive
+    public static long divideHalfUp(long numerator, long denominator) {
+        long quotient = numerator / denominator;
+        long remainder = numerator % denominator;
+        if (Math.abs(remainder) * 2 >= denominator) {
+            quotient += Long.signum(numerator);
+        }
+        return quotient;
+    }
+
+    // amount * numerator / denominator rounded HALF_UP, e.g. multiply(salary, 3, 100) for 3%
+    public static long multiply(long centavos, long numerator, long denominator) {
+        return divideHalfUp(Math.multiplyExact(centavos, numerator), denominator);
+    }
+
+    // "1234.56", the same text as String.format("%.2f") of the peso amount
+    public static String format(long centavos) {
+        return String.format("%.2f", toPesos(centavos));
+    }
+}
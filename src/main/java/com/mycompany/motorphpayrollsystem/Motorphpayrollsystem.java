@@ -2,163 +2,55 @@ package com.mycompany.motorphpayrollsystem;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.time.Duration;
-import java.time.LocalTime;
+import java.time.LocalDate;
 import java.util.List;
 
 public class Motorphpayrollsystem {
+    public static final long OVERTIME_MULTIPLIER_BASIS_POINTS = 12_500; // Overtime is paid at 125% of the hourly rate
 
+    // Contribution and tax brackets come from the versioned tables in statutory/ (see StatutoryTables).
+    // The overloads without a date use the tables in effect today. Amounts are computed in
+    // centavos (see Money); the double methods convert at the edges.
     public static double calculateSSSContribution(double basicSalary) {
-   
-        if(basicSalary < 3250) {
-          return 135.00f; //Minimum for employee share
-      } else if (basicSalary >= 3250 && basicSalary < 3750) {
-          return 157.50f;
-      } else if (basicSalary >= 3750 && basicSalary < 4250) {
-          return 180.00f;
-      } else if (basicSalary >= 4250 && basicSalary < 4750) {
-          return 202.50f;
-      } else if (basicSalary >= 4750 && basicSalary < 5250) {
-          return 225.00f;
-      } else if (basicSalary >= 5250 && basicSalary < 5750) {
-          return 247.50f;
-      } else if (basicSalary >= 5750 && basicSalary < 6250) {
-          return 270.00f;
-      } else if (basicSalary >= 6250 && basicSalary < 6750) {
-          return 292.50f;
-      } else if (basicSalary >= 6750 && basicSalary < 7250) {
-          return 315.00f;
-      } else if (basicSalary >= 7250 && basicSalary < 7750) {
-          return 337.50f;
-      } else if (basicSalary >= 7750 && basicSalary < 8250) {
-          return 360.00f;
-      } else if (basicSalary >= 8250 && basicSalary < 8750) {
-          return 382.50f;
-      } else if (basicSalary >= 8750 && basicSalary < 9250) {
-          return 405.00f;
-      } else if (basicSalary >= 9250 && basicSalary < 9750) {
-          return 427.50f;
-      } else if (basicSalary >= 9750 && basicSalary < 10250) {
-          return 450.00f;
-      } else if (basicSalary >= 10250 && basicSalary < 10750) {
-          return 472.50f;
-      } else if (basicSalary >= 10750 && basicSalary < 11250) {
-          return 495.00f;
-      } else if (basicSalary >= 11250 && basicSalary < 11750) {
-          return 517.50f;
-      } else if (basicSalary >= 11750 && basicSalary < 12250) {
-          return 540.00f;
-      } else if (basicSalary >= 12250 && basicSalary < 12750) {
-          return 562.50f;
-      } else if (basicSalary >= 12750 && basicSalary < 13250) {
-          return 585.00f;
-      } else if (basicSalary >= 13250 && basicSalary < 13750) {
-          return 607.50f;
-      } else if (basicSalary >= 13750 && basicSalary < 14250) {
-          return 630.00f;
-      } else if (basicSalary >= 14250 && basicSalary < 14750) {
-          return 652.50f;
-      } else if (basicSalary >= 14750 && basicSalary < 15250) {
-          return 675.00f;
-      } else if (basicSalary >= 15250 && basicSalary < 15750) {
-          return 697.50f;
-      } else if (basicSalary >= 15750 && basicSalary < 16250) {
-          return 720.00f;
-      } else if (basicSalary >= 16250 && basicSalary < 16750) {
-          return 742.50f;
-      } else if (basicSalary >= 16750 && basicSalary < 17250) {
-          return 765.00f;
-      } else if (basicSalary >= 17250 && basicSalary < 17750) {
-          return 787.50f;
-      } else if (basicSalary >= 17750 && basicSalary < 18250) {
-          return 810.00f;
-      } else if (basicSalary >= 18250 && basicSalary < 18750) {
-          return 832.50f;
-      } else if (basicSalary >= 18750 && basicSalary < 19250) {
-          return 855.00f;
-      } else if (basicSalary >= 19250 && basicSalary < 19750) {
-          return 877.50f;
-      } else if (basicSalary >= 19750 && basicSalary < 20250) {
-          return 900.00f;
-      } else if (basicSalary >= 20250 && basicSalary < 20750) {
-          return 922.50f;
-      } else if (basicSalary >= 20750 && basicSalary < 21250) {
-          return 945.00f; 
-      } else if (basicSalary >= 21250 && basicSalary < 21750) {
-          return 967.50f;
-      } else if (basicSalary >= 21750 && basicSalary < 22250) {
-          return 990.00f;
-      } else if (basicSalary >= 22250 && basicSalary < 22750) {
-          return 1012.50f;
-      } else if (basicSalary >= 22750 && basicSalary < 23250) {
-          return 1035.00f;
-      } else if (basicSalary >= 23250 && basicSalary < 23750) {
-          return 1057.50f;
-      } else if (basicSalary >= 23750 && basicSalary < 24750) {
-          return 1080.00f;
-      } else { 
-      return 1125.00f;
-      }
+        return calculateSSSContribution(basicSalary, LocalDate.now());
+    }
+
+    public static double calculateSSSContribution(double basicSalary, LocalDate payDate) {
+        return Money.toPesos(calculateSSSContributionCentavos(Money.ofPesos(basicSalary), payDate));
+    }
+
+    public static long calculateSSSContributionCentavos(long basicSalary, LocalDate payDate) {
+        return StatutoryTables.getInstance().table(StatutoryTable.Kind.SSS, payDate).apply(basicSalary);
     }
 
-    
     public static double calculateWithholdingTax(double grossIncome) {
+        return calculateWithholdingTax(grossIncome, LocalDate.now());
+    }
 
-        if (grossIncome <= 20833) { 
-            return 0;
-        } else if (grossIncome <= 33333) { // Up to 400,000 annually
-            return (grossIncome - 20833) * 0.20;
-        } else if (grossIncome <= 66667) { // Up to 800,000 annually
-            return 2500 + (grossIncome - 33333) * 0.25;
-        } else if (grossIncome <= 166667) { // Up to 2,000,000 annually
-            return 10833.33 + (grossIncome - 66667) * 0.30;
-        } else if (grossIncome <= 666667) { // Up to 8,000,000 annually
-            return 40833.33 + (grossIncome - 166667) * 0.32;
-        } else { // Over 8,000,000 annually
-            return 200833.33 + (grossIncome - 666667) * 0.35;
-        }
+    public static double calculateWithholdingTax(double grossIncome, LocalDate payDate) {
+        return Money.toPesos(calculateWithholdingTaxCentavos(Money.ofPesos(grossIncome), payDate));
+    }
+
+    public static long calculateWithholdingTaxCentavos(long grossIncome, LocalDate payDate) {
+        return StatutoryTables.getInstance().table(StatutoryTable.Kind.WITHHOLDING_TAX, payDate).apply(grossIncome);
     }
     
+    // A period's attendance totals, read from the running totals AttendanceManager keeps rather than from the records
+    public static AttendanceSummary getAttendanceSummary(Employee employee, LocalDate periodStart, LocalDate periodEnd) {
+        return AttendanceManager.getInstance().getSummary(employee.getEmployeeId(), periodStart, periodEnd);
+    }
+
     // Separate methods for total rendered hours and overtime pay for reusability
     public static double calculateTotalRenderedHours(List<AttendanceRecord> attendanceRecords) {
-        double totalRegularHours = 0;
-        for (AttendanceRecord record : attendanceRecords) {
-            double hoursWorked = Duration.between(record.getTimeIn(), record.getTimeOut()).toMinutes()/60.0;
-            double finalHoursWorked = hoursWorked - 1.0; // Subtract 1 hour for lunch break
-            totalRegularHours += Math.min(finalHoursWorked,8);
-        }
-        return totalRegularHours;
+        return AttendanceSummary.of(attendanceRecords).getRegularHours();
     }
     
     public static double calculateTotalOvertimeHours(List<AttendanceRecord> attendanceRecords) {
-        double totalOvertimeHours = 0;
-        
-        for (AttendanceRecord record : attendanceRecords) {
-            double hoursWorked = Duration.between(record.getTimeIn(), record.getTimeOut()).toMinutes()/60.0;
-            double finalHoursWorked = hoursWorked - 1.0; // Subtract 1 hour for lunch break
-            
-            if(finalHoursWorked > 8) {
-                totalOvertimeHours += (finalHoursWorked - 8);
-            }
-        }
-        return totalOvertimeHours;
+        return AttendanceSummary.of(attendanceRecords).getOvertimeHours();
     }
 
     public static double calculateTotalTardiness (List<AttendanceRecord> attendanceRecords) {
-        LocalTime gracePeriod = LocalTime.of(8, 10); 
-        long totalTardyMinutes = 0;
-        
-        for (AttendanceRecord record : attendanceRecords) {
-            
-            LocalTime actualTimeIn = record.getTimeIn();
-            
-            if(actualTimeIn.isAfter(gracePeriod)) {
-                Duration tardyDuration = Duration.between(gracePeriod, actualTimeIn);
-                totalTardyMinutes += tardyDuration.toMinutes();
-             }
-            }
-        
-        return totalTardyMinutes/60.0;
+        return AttendanceSummary.of(attendanceRecords).getTardinessHours();
     }
   
      //Calculates the gross salary for an employee based on attendance records        
@@ -167,16 +59,37 @@ public class Motorphpayrollsystem {
             System.err.println("Error: Employee and attendance object is null for gross salary calculation.");
             return 0.0;
         }
-        
-        double hourlyRate = employee.getHourlyRate();
-        double totalRegularHours = calculateTotalRenderedHours(attendanceRecords);
-        double overtimeHours = calculateTotalOvertimeHours(attendanceRecords);
-        
-        double regularPay = totalRegularHours * hourlyRate;
-        double overtimePay = overtimeHours * hourlyRate * 1.25;
-        
-        return round(regularPay + overtimePay);        
-        
+        return calculateGrossSalary(employee, AttendanceSummary.of(attendanceRecords));
+    }
+    
+    // Summary-based overloads let a payslip walk its attendance records once for every figure
+    public static double calculateGrossSalary(Employee employee, AttendanceSummary summary) {
+        if (employee == null || summary == null) {
+            System.err.println("Error: Employee and attendance object is null for gross salary calculation.");
+            return 0.0;
+        }
+        return Money.toPesos(calculateGrossSalaryCentavos(employee, summary));
+    }
+
+    // Regular minutes at the hourly rate plus overtime minutes at 125%, rounded once
+    public static long calculateGrossSalaryCentavos(Employee employee, AttendanceSummary summary) {
+        return calculateGrossSalaryCentavos(Money.ofPesos(employee.getHourlyRate()), summary.getRegularMinutes(),
+                summary.getOvertimeMinutes(), OVERTIME_MULTIPLIER_BASIS_POINTS);
+    }
+
+    // The same with any overtime multiplier, in basis points (12500 is 125%), e.g. for PayrollSimulation
+    public static long calculateGrossSalaryCentavos(long hourlyRate, long regularMinutes, long overtimeMinutes, long overtimeMultiplierBasisPoints) {
+        // rate * regular / 60 + rate * overtime * multiplier / 60, over the common denominator 60 * 10000
+        long weightedMinutes = Math.addExact(Math.multiplyExact(regularMinutes, 10_000), Math.multiplyExact(overtimeMinutes, overtimeMultiplierBasisPoints));
+        return Money.multiply(hourlyRate, weightedMinutes, 60 * 10_000);
+    }
+
+    public static long calculateOvertimePayCentavos(Employee employee, AttendanceSummary summary) {
+        return calculateOvertimePayCentavos(Money.ofPesos(employee.getHourlyRate()), summary.getOvertimeMinutes(), OVERTIME_MULTIPLIER_BASIS_POINTS);
+    }
+
+    public static long calculateOvertimePayCentavos(long hourlyRate, long overtimeMinutes, long overtimeMultiplierBasisPoints) {
+        return Money.multiply(hourlyRate, Math.multiplyExact(overtimeMinutes, overtimeMultiplierBasisPoints), 60 * 10_000);
     }
     
     public static double calculateTotalTardinessDeductions (Employee employee, List<AttendanceRecord> attendanceRecords) {
@@ -184,40 +97,67 @@ public class Motorphpayrollsystem {
             System.err.println("Error: Employee and attendance object is null for gross salary calculation.");
             return 0.0;
         }
-        
-        double hourlyRate = employee.getHourlyRate();
-        double totalTardinessHours = calculateTotalTardiness(attendanceRecords);
-               
-        return round(totalTardinessHours * hourlyRate);  
+        return calculateTotalTardinessDeductions(employee, AttendanceSummary.of(attendanceRecords));
+    }
+    
+    public static double calculateTotalTardinessDeductions (Employee employee, AttendanceSummary summary) {
+        if (employee == null || summary == null) {
+            System.err.println("Error: Employee and attendance object is null for gross salary calculation.");
+            return 0.0;
+        }
+        return Money.toPesos(calculateTardinessDeductionCentavos(employee, summary));
+    }
+
+    public static long calculateTardinessDeductionCentavos(Employee employee, AttendanceSummary summary) {
+        return Money.multiply(Money.ofPesos(employee.getHourlyRate()), summary.getTardyMinutes(), 60);
     }
     
 
-    //Calculate PhilHealth Contribution based on Basic Salary
+    //Calculate PhilHealth Contribution based on Basic Salary, equally shared by employee and employer
     public static double calculatePhilhealthContribution(double basicSalary) {
-        if (basicSalary <= 10000) {
-           return 300f/2;
-       } else if (basicSalary >= 10000.1f && basicSalary <= 59999.99f) {
-           return (basicSalary * 0.03)/2;
-       } else {
-           return 1800 / 2; //Equally shared by employee and employer
-       }
+        return calculatePhilhealthContribution(basicSalary, LocalDate.now());
+    }
+
+    public static double calculatePhilhealthContribution(double basicSalary, LocalDate payDate) {
+        return Money.toPesos(calculatePhilhealthContributionCentavos(Money.ofPesos(basicSalary), payDate));
+    }
+
+    public static long calculatePhilhealthContributionCentavos(long basicSalary, LocalDate payDate) {
+        return StatutoryTables.getInstance().table(StatutoryTable.Kind.PHILHEALTH, payDate).apply(basicSalary);
     }
 
     // Calculates the monthly Pag-IBIG contributio based on Basic Salary
     public static double calculatePagibigContribution(double basicSalary) {
-        return Math.min(basicSalary * 0.02, 100);
+        return calculatePagibigContribution(basicSalary, LocalDate.now());
+    }
+
+    public static double calculatePagibigContribution(double basicSalary, LocalDate payDate) {
+        return Money.toPesos(calculatePagibigContributionCentavos(Money.ofPesos(basicSalary), payDate));
+    }
+
+    public static long calculatePagibigContributionCentavos(long basicSalary, LocalDate payDate) {
+        return StatutoryTables.getInstance().table(StatutoryTable.Kind.PAGIBIG, payDate).apply(basicSalary);
     }
 
     //Calculates the total monthly deductions (SSS, PhilHealth, Pag-IBIG, Withholding Tax).
   
     public static double calculateTotalDeductions(double grossSalary, double basicSalary, Employee employee, List<AttendanceRecord> attendanceRecords) {
-        double sssDeduction = calculateSSSContribution(basicSalary);
-        double philhealthDeduction = calculatePhilhealthContribution(basicSalary);
-        double pagibigDeduction = calculatePagibigContribution(basicSalary);
-        double tardinessDeduction = calculateTotalTardinessDeductions(employee, attendanceRecords);
-        double taxDeduction = calculateWithholdingTax(grossSalary - sssDeduction - philhealthDeduction - pagibigDeduction - tardinessDeduction); // Taxable income after mandatory deductions
+        return calculateTotalDeductions(grossSalary, basicSalary, employee, AttendanceSummary.of(attendanceRecords));
+    }
 
-        return round(sssDeduction + philhealthDeduction + pagibigDeduction + taxDeduction);
+    public static double calculateTotalDeductions(double grossSalary, double basicSalary, Employee employee, AttendanceSummary summary) {
+        return Money.toPesos(calculateTotalDeductionsCentavos(Money.ofPesos(grossSalary), Money.ofPesos(basicSalary), employee, summary, LocalDate.now()));
+    }
+
+    // Tardiness lowers the taxable income but is not part of this total (Payslip includes it)
+    private static long calculateTotalDeductionsCentavos(long grossSalary, long basicSalary, Employee employee, AttendanceSummary summary, LocalDate payDate) {
+        long sssDeduction = calculateSSSContributionCentavos(basicSalary, payDate);
+        long philhealthDeduction = calculatePhilhealthContributionCentavos(basicSalary, payDate);
+        long pagibigDeduction = calculatePagibigContributionCentavos(basicSalary, payDate);
+        long tardinessDeduction = calculateTardinessDeductionCentavos(employee, summary);
+        long taxDeduction = calculateWithholdingTaxCentavos(grossSalary - sssDeduction - philhealthDeduction - pagibigDeduction - tardinessDeduction, payDate); // Taxable income after mandatory deductions
+
+        return sssDeduction + philhealthDeduction + pagibigDeduction + taxDeduction;
     }
 
     //Calculates Net Salary based on attendance record.
@@ -226,13 +166,22 @@ public class Motorphpayrollsystem {
             System.err.println("Error: Employee object is null for net salary calculation.");
             return 0.0;
         }
-        double grossSalary = calculateGrossSalary(employee, attendanceRecords);
-        double totalDeductions = calculateTotalDeductions(grossSalary, employee.getSalary(), employee, attendanceRecords);
-        return round(grossSalary - totalDeductions);
+        return calculateNetSalary(employee, AttendanceSummary.of(attendanceRecords));
+    }
+
+    public static double calculateNetSalary(Employee employee, AttendanceSummary summary) {
+        if (employee == null || summary == null) {
+            System.err.println("Error: Employee object is null for net salary calculation.");
+            return 0.0;
+        }
+        long grossSalary = calculateGrossSalaryCentavos(employee, summary);
+        long totalDeductions = calculateTotalDeductionsCentavos(grossSalary, Money.ofPesos(employee.getSalary()), employee, summary, LocalDate.now());
+        return Money.toPesos(grossSalary - totalDeductions);
     }
 
     /**
      * Rounds a double value to two decimal places using BigDecimal for precision.
+     * Payroll amounts no longer go through this; they are computed in centavos (see Money).
      * @param value The double value to round.
      * @return The rounded double value.
      */
@@ -249,45 +198,35 @@ public class Motorphpayrollsystem {
             return;
         }
 
-        double basicSalary = employee.getSalary();
-        double hourlyRate = employee.getHourlyRate();
-        double totalRenderedHours = calculateTotalRenderedHours(attendanceRecords);
-        double overtimeHours = calculateTotalOvertimeHours(attendanceRecords);
-        double tardinessHours = calculateTotalTardiness(attendanceRecords);
-        double tardinessDeduction = calculateTotalTardinessDeductions(employee, attendanceRecords);
-
-        double grossSalary = calculateGrossSalary(employee, attendanceRecords);
-
-        double sssDeduction = calculateSSSContribution(basicSalary);
-        double philhealthDeduction = calculatePhilhealthContribution(basicSalary);
-        double pagibigDeduction = calculatePagibigContribution(basicSalary);
-        double taxableIncome = grossSalary - sssDeduction - philhealthDeduction - pagibigDeduction - tardinessDeduction;
-        double taxDeduction = calculateWithholdingTax(taxableIncome);
-
-        double totalDeductions = round(sssDeduction + philhealthDeduction + pagibigDeduction + taxDeduction + tardinessDeduction);
-        double netSalary = round(grossSalary - totalDeductions);
+        // The statutory tables in effect on the last attendance date apply
+        LocalDate periodStart = LocalDate.now();
+        LocalDate periodEnd = attendanceRecords.isEmpty() ? periodStart : attendanceRecords.get(0).getDate();
+        for (AttendanceRecord record : attendanceRecords) {
+            periodStart = record.getDate().isBefore(periodStart) ? record.getDate() : periodStart;
+            periodEnd = record.getDate().isAfter(periodEnd) ? record.getDate() : periodEnd;
+        }
+        Payslip payslip = Payslip.calculate(employee, periodStart, periodEnd, attendanceRecords);
+        AttendanceSummary summary = payslip.getAttendance();
 
         System.out.println("\n--- Monthly Payslip for " + employee.getFullName() + " (ID: " + employee.getEmployeeId() + ") ---");
         System.out.println("----------------------------------------------------------");
         System.out.printf("Position: %s%n", employee.getPosition());
-        System.out.printf("Monthly Basic Salary: P %.2f%n", basicSalary);
-        System.out.printf("Hourly Rate: P %.2f%n", hourlyRate);
-        System.out.printf("Total Hours Worked (Regular): %.2f hours%n", totalRenderedHours);
-        System.out.printf("Overtime Hours: %.2f hours%n", overtimeHours);
-        System.out.printf("Overtime Pay: P %.2f%n", (overtimeHours * hourlyRate * 1.25));
-        System.out.printf("Gross Salary: P %.2f%n", grossSalary);
+        System.out.printf("Monthly Basic Salary: P %.2f%n", employee.getSalary());
+        System.out.printf("Hourly Rate: P %.2f%n", employee.getHourlyRate());
+        System.out.printf("Total Hours Worked (Regular): %.2f hours%n", summary.getRegularHours());
+        System.out.printf("Overtime Hours: %.2f hours%n", summary.getOvertimeHours());
+        System.out.printf("Overtime Pay: P %s%n", Money.format(payslip.getOvertimePay()));
+        System.out.printf("Gross Salary: P %s%n", Money.format(payslip.getGrossSalary()));
         System.out.println("----------------------------------------------------------");
         System.out.println("Deductions:");
-        System.out.printf("  SSS Contribution: P %.2f%n", sssDeduction);
-        System.out.printf("  PhilHealth Contribution: P %.2f%n", philhealthDeduction);
-        System.out.printf("  Pag-IBIG Contribution: P %.2f%n", pagibigDeduction);
-        System.out.printf("  Withholding Tax: P %.2f%n", taxDeduction);
-        System.out.printf("  Tardiness Deduction (%.2f hours): P %.2f%n", tardinessHours, tardinessDeduction);
-        System.out.printf("Total Deductions: P %.2f%n", totalDeductions);
+        System.out.printf("  SSS Contribution: P %s%n", Money.format(payslip.getSssDeduction()));
+        System.out.printf("  PhilHealth Contribution: P %s%n", Money.format(payslip.getPhilhealthDeduction()));
+        System.out.printf("  Pag-IBIG Contribution: P %s%n", Money.format(payslip.getPagibigDeduction()));
+        System.out.printf("  Withholding Tax: P %s%n", Money.format(payslip.getTaxDeduction()));
+        System.out.printf("  Tardiness Deduction (%.2f hours): P %s%n", summary.getTardinessHours(), Money.format(payslip.getTardinessDeduction()));
+        System.out.printf("Total Deductions: P %s%n", Money.format(payslip.getTotalDeductions()));
         System.out.println("----------------------------------------------------------");
-        System.out.printf("NET MONTHLY SALARY: P %.2f%n", netSalary);
+        System.out.printf("NET MONTHLY SALARY: P %s%n", Money.format(payslip.getNetSalary()));
         System.out.println("----------------------------------------------------------");
     }
 }
-
-
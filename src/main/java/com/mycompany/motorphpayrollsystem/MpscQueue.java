@@ -0,0 +1,64 @@
+package com.mycompany.motorphpayrollsystem;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Unbounded lock-free queue for many producer threads and a single consumer thread
+ * (the linked-node design by Dmitry Vyukov).
+ * offer() is wait-free: one atomic swap of the tail and one store, with no locks or retry loops.
+ * poll(), drainTo() and isEmpty() may only be called from the consumer thread.
+ */
+public class MpscQueue<E> {
+
+    private static final class Node<E> {
+        E value;
+        volatile Node<E> next;
+
+        Node(E value) {
+            this.value = value;
+        }
+    }
+
+    private final AtomicReference<Node<E>> tail;
+    private Node<E> head; // Consumer side only, always a node whose value was already taken
+
+    public MpscQueue() {
+        Node<E> stub = new Node<>(null);
+        head = stub;
+        tail = new AtomicReference<>(stub);
+    }
+
+    public void offer(E value) {
+        Node<E> node = new Node<>(value);
+        Node<E> previous = tail.getAndSet(node); // Producers are ordered here
+        previous.next = node; // Publishes the node to the consumer
+    }
+
+    // Returns null if the queue is empty, or if the next producer has swapped the tail but not linked its node yet
+    public E poll() {
+        Node<E> next = head.next;
+        if (next == null) {
+            return null;
+        }
+        E value = next.value;
+        next.value = null; // next becomes the new stub, do not keep the value reachable
+        head = next;
+        return value;
+    }
+
+    // Moves up to max elements into sink, returns how many were moved
+    public int drainTo(List<E> sink, int max) {
+        int count = 0;
+        E value;
+        while (count < max && (value = poll()) != null) {
+            sink.add(value);
+            count++;
+        }
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return head.next == null;
+    }
+}
@@ -0,0 +1,51 @@
+package com.mycompany.motorphpayrollsystem;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shared last/first name pairs keyed by employee ID.
+ * Every attendance row repeats the employee's name, but there are only a few dozen employees, so
+ * AttendanceRecord stores the dictionary's String instances instead of its own copies and the
+ * per-row copies made by the CSV parser can be collected. If an employee's name changes, the
+ * newest spelling becomes the shared one; records that already hold the old name keep it.
+ */
+public final class NameDictionary {
+    private static final ConcurrentHashMap<Integer, Names> BY_EMPLOYEE = new ConcurrentHashMap<>();
+
+    public static final class Names {
+        private final String lastName;
+        private final String firstName;
+
+        private Names(String lastName, String firstName) {
+            this.lastName = lastName;
+            this.firstName = firstName;
+        }
+
+        public String getLastName() {
+            return lastName;
+        }
+
+        public String getFirstName() {
+            return firstName;
+        }
+
+        private boolean matches(String lastName, String firstName) {
+            return Objects.equals(this.lastName, lastName) && Objects.equals(this.firstName, firstName);
+        }
+    }
+
+    private NameDictionary() {
+    }
+
+    // Returns the shared instances equal to the given names
+    public static Names canonical(int employeeId, String lastName, String firstName) {
+        Names names = BY_EMPLOYEE.get(employeeId);
+        if (names != null && names.matches(lastName, firstName)) {
+            return names;
+        }
+        Names latest = new Names(lastName, firstName);
+        BY_EMPLOYEE.put(employeeId, latest);
+        return latest;
+    }
+}
@@ -0,0 +1,169 @@
+package com.mycompany.motorphpayrollsystem;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Progress of a PayrollRun, so a run that dies partway (out of memory, power cut) can be
+ * resumed with the same run ID instead of starting over. The run writes its register to a
+ * partial file; every few seconds it fsyncs that file and appends a line here with the partial
+ * file's length, the running totals and the IDs of the employees finished since the previous
+ * line, then fsyncs this file. On resume the partial file is cut back to the length in the last
+ * complete line, dropping any rows written after it, and the listed employees are skipped.
+ * The run line carries a fingerprint of the data the register is computed from (see
+ * PayrollRun.dataFingerprint); a checkpoint taken before that data changed is discarded
+ * rather than resumed, since its rows would be stale.
+ *
+ * One line each:
+ *     run,[run ID],[period start],[period end],[data fingerprint]
+ *     done,[register bytes],[rows],[gross],[deductions],[net],[employee ID],...
+ * Amounts are centavos. A last line without its newline (a crash mid-write) is ignored.
+ */
+public class PayrollCheckpoint {
+    private final File file;
+    private final String runPrefix; // Run line without the fingerprint
+    private final String runLine;
+
+    private final Set<Integer> completedEmployees = new HashSet<>();
+    private long registerLength;
+    private int rows;
+    private long totalGross;
+    private long totalDeductions;
+    private long totalNet;
+    private FileOutputStream out;
+
+    public PayrollCheckpoint(String fileName, String runId, LocalDate periodStart, LocalDate periodEnd, String dataFingerprint) {
+        this.file = new File(fileName);
+        this.runPrefix = "run," + runId + "," + periodStart + "," + periodEnd;
+        this.runLine = runPrefix + "," + dataFingerprint;
+    }
+
+    /**
+     * Reads the checkpoint left by an earlier attempt of the run. Returns false if there is
+     * none, it has no finished employees yet, or the data has changed since it was taken.
+     * Throws IOException if the file belongs to a run with a different period or cannot be parsed.
+     */
+    public boolean load() throws IOException {
+        if (!file.exists()) {
+            return false;
+        }
+        String content = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+        int end = content.lastIndexOf('\n');
+        if (end < 0) {
+            return false; // Not even the run line was completed
+        }
+        String[] lines = content.substring(0, end).split("\n");
+        if (!lines[0].equals(runLine)) {
+            if (lines[0].equals(runPrefix) || lines[0].startsWith(runPrefix + ",")) {
+                System.out.println("Employee or attendance data changed since " + file + " was written, starting the run over");
+                return false;
+            }
+            throw new IOException(file + " is for another run (" + lines[0] + "), expected " + runPrefix);
+        }
+        for (int i = 1; i < lines.length; i++) {
+            String[] fields = lines[i].split(",");
+            if (fields.length < 6 || !fields[0].equals("done")) {
+                throw new IOException(file + " line " + (i + 1) + " is not a checkpoint: " + lines[i]);
+            }
+            try {
+                registerLength = Long.parseLong(fields[1]);
+                rows = Integer.parseInt(fields[2]);
+                totalGross = Long.parseLong(fields[3]);
+                totalDeductions = Long.parseLong(fields[4]);
+                totalNet = Long.parseLong(fields[5]);
+                for (int f = 6; f < fields.length; f++) {
+                    completedEmployees.add(Integer.parseInt(fields[f]));
+                }
+            } catch (NumberFormatException ex) {
+                throw new IOException(file + " line " + (i + 1) + ": " + ex.getMessage(), ex);
+            }
+        }
+        return lines.length > 1;
+    }
+
+    // Starts a new checkpoint, replacing any earlier one
+    public void start() throws IOException {
+        completedEmployees.clear();
+        registerLength = 0;
+        rows = 0;
+        totalGross = 0;
+        totalDeductions = 0;
+        totalNet = 0;
+        out = new FileOutputStream(file);
+        append(runLine);
+    }
+
+    // Continues the checkpoint read by load()
+    public void resume() throws IOException {
+        out = new FileOutputStream(file, true);
+    }
+
+    /**
+     * Records that the register is complete up to registerLength bytes, with the given running
+     * totals, and that the employees are finished. The register must already be on disk.
+     */
+    public void record(long registerLength, int rows, long totalGross, long totalDeductions, long totalNet,
+                       List<Integer> employeeIds) throws IOException {
+        StringBuilder line = new StringBuilder("done,").append(registerLength).append(',').append(rows)
+                .append(',').append(totalGross).append(',').append(totalDeductions).append(',').append(totalNet);
+        for (int employeeId : employeeIds) {
+            line.append(',').append(employeeId);
+        }
+        append(line.toString());
+        this.registerLength = registerLength;
+        this.rows = rows;
+        this.totalGross = totalGross;
+        this.totalDeductions = totalDeductions;
+        this.totalNet = totalNet;
+        completedEmployees.addAll(employeeIds);
+    }
+
+    private void append(String line) throws IOException {
+        out.write((line + "\n").getBytes(StandardCharsets.UTF_8));
+        out.getFD().sync();
+    }
+
+    public void close() throws IOException {
+        if (out != null) {
+            out.close();
+            out = null;
+        }
+    }
+
+    // Removes the checkpoint once the register is complete
+    public void delete() throws IOException {
+        close();
+        Files.deleteIfExists(file.toPath());
+    }
+
+    public Set<Integer> getCompletedEmployees() {
+        return completedEmployees;
+    }
+
+    public long getRegisterLength() {
+        return registerLength;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public long getTotalGross() {
+        return totalGross;
+    }
+
+    public long getTotalDeductions() {
+        return totalDeductions;
+    }
+
+    public long getTotalNet() {
+        return totalNet;
+    }
+}
@@ -0,0 +1,326 @@
+package com.mycompany.motorphpayrollsystem;
+
+import com.opencsv.CSVWriter;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Whole-company payroll for one pay period, written as a payroll register CSV (see Payslip).
+ * Employees are split into chunks that are computed in parallel on a ForkJoinPool. Only a
+ * few chunks are in flight at a time and they are written as they finish, in employee order,
+ * so memory use does not grow with the number of employees.
+ * Employees with no attendance in the period are left out of the register, as the payslip
+ * screens do.
+ * Progress is checkpointed every few seconds (see PayrollCheckpoint), so a run that dies
+ * partway is resumed by running it again with the same run ID: finished employees are skipped
+ * and the rest are appended to the register written so far. If employee or attendance data
+ * was corrected in between, the checkpoint is discarded and the run starts over.
+ */
+public class PayrollRun {
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("MM/dd/yyyy");
+    private static final int MAX_CHUNK_SIZE = 64;
+    private static final long DEFAULT_CHECKPOINT_INTERVAL_MILLIS = 2000;
+    private static final DateTimeFormatter RUN_ID_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+    public static final String DEFAULT_REGISTER_FILE = "payroll_register.csv";
+
+    private final LocalDate periodStart;
+    private final LocalDate periodEnd;
+    private final EmployeeManager employeeManager;
+    private final AttendanceManager attendanceManager;
+    private final ForkJoinPool pool;
+    private long checkpointIntervalMillis = DEFAULT_CHECKPOINT_INTERVAL_MILLIS;
+    private ProgressListener progressListener;
+
+    private int rowsWritten;
+    private int employeesResumed;
+    private int employeesSkipped;
+    private long totalGross;
+    private long totalDeductions;
+    private long totalNet;
+    private long elapsedNanos;
+
+    // Told on the running thread, after each chunk is written, how many employees are done (resumed ones included)
+    public interface ProgressListener {
+        void progress(int employeesDone, int employeeCount);
+    }
+
+    public PayrollRun(LocalDate periodStart, LocalDate periodEnd) {
+        this(periodStart, periodEnd, EmployeeManager.getInstance(), AttendanceManager.getInstance(), ForkJoinPool.commonPool());
+    }
+
+    public PayrollRun(LocalDate periodStart, LocalDate periodEnd, EmployeeManager employeeManager,
+                      AttendanceManager attendanceManager, ForkJoinPool pool) {
+        if (periodEnd.isBefore(periodStart)) {
+            throw new IllegalArgumentException("End Date must be after or equal to Start Date.");
+        }
+        this.periodStart = periodStart;
+        this.periodEnd = periodEnd;
+        this.employeeManager = employeeManager;
+        this.attendanceManager = attendanceManager;
+        this.pool = pool;
+    }
+
+    // How often progress is written to the checkpoint; each checkpoint costs two fsyncs
+    public void setCheckpointIntervalMillis(long checkpointIntervalMillis) {
+        this.checkpointIntervalMillis = checkpointIntervalMillis;
+    }
+
+    public void setProgressListener(ProgressListener progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    // The run ID used by run(registerFile): one run per pay period, e.g. payroll-20240601-20240630
+    public String getDefaultRunId() {
+        return "payroll-" + periodStart.format(RUN_ID_DATE_FORMAT) + "-" + periodEnd.format(RUN_ID_DATE_FORMAT);
+    }
+
+    public void run(String registerFile) throws IOException {
+        run(registerFile, getDefaultRunId());
+    }
+
+    /**
+     * Computes every employee's payslip and writes the register to registerFile.
+     * The register is written to registerFile.[runId].partial and renamed when complete, so a
+     * failed run never leaves a partial register under the real name. If an earlier attempt of
+     * the same run left a checkpoint (registerFile.[runId].checkpoint), the employees it lists
+     * are not computed again and the register continues from where it was checkpointed.
+     */
+    public void run(String registerFile, String runId) throws IOException {
+        if (!runId.matches("[A-Za-z0-9_-]+")) {
+            throw new IllegalArgumentException("Run ID may only contain letters, digits, '-' and '_': " + runId);
+        }
+        long start = System.nanoTime();
+        String partialFile = registerFile + "." + runId + ".partial";
+        PayrollCheckpoint checkpoint = new PayrollCheckpoint(registerFile + "." + runId + ".checkpoint", runId, periodStart, periodEnd, dataFingerprint());
+        boolean resuming = checkpoint.load() && new File(partialFile).length() >= checkpoint.getRegisterLength();
+
+        rowsWritten = resuming ? checkpoint.getRows() : 0;
+        totalGross = resuming ? checkpoint.getTotalGross() : 0;
+        totalDeductions = resuming ? checkpoint.getTotalDeductions() : 0;
+        totalNet = resuming ? checkpoint.getTotalNet() : 0;
+        employeesResumed = 0;
+        employeesSkipped = 0;
+
+        List<Employee> employees = new ArrayList<>();
+        Set<Integer> completed = checkpoint.getCompletedEmployees();
+        for (Employee employee : employeeManager.getEmployees()) {
+            if (resuming && completed.contains(employee.getEmployeeId())) {
+                employeesResumed++;
+            } else {
+                employees.add(employee);
+            }
+        }
+        if (resuming) {
+            System.out.println("Resuming payroll run " + runId + ": " + employeesResumed + " employees already in " + partialFile);
+        }
+
+        int chunkSize = Math.max(1, Math.min(MAX_CHUNK_SIZE, employees.size() / (pool.getParallelism() * 4)));
+        int window = pool.getParallelism() * 2; // Chunks computed ahead of the writer
+        Deque<Future<List<Payslip>>> inFlight = new ArrayDeque<>();
+        Deque<List<Employee>> inFlightChunks = new ArrayDeque<>();
+        List<Integer> finished = new ArrayList<>(); // Employees written since the last checkpoint
+        int next = 0;
+        int employeesDone = employeesResumed;
+
+        try (FileOutputStream out = new FileOutputStream(partialFile, resuming);
+             CSVWriter writer = new CSVWriter(new OutputStreamWriter(out))) {
+            FileChannel channel = out.getChannel();
+            if (resuming) {
+                channel.truncate(checkpoint.getRegisterLength()); // Rows written after the last checkpoint are computed again
+                checkpoint.resume();
+            } else {
+                checkpoint.start();
+                writer.writeNext(Payslip.REGISTER_HEADER);
+            }
+            long lastCheckpoint = System.nanoTime();
+            while (next < employees.size() || !inFlight.isEmpty()) {
+                while (next < employees.size() && inFlight.size() < window) {
+                    List<Employee> chunk = employees.subList(next, Math.min(next + chunkSize, employees.size()));
+                    inFlight.add(pool.submit(() -> calculateChunk(chunk)));
+                    inFlightChunks.add(chunk);
+                    next += chunk.size();
+                }
+                for (Payslip payslip : join(inFlight.poll())) { // Oldest chunk first keeps the register in employee order
+                    writer.writeNext(payslip.toRegisterRow());
+                    rowsWritten++;
+                    totalGross += payslip.getGrossSalary();
+                    totalDeductions += payslip.getTotalDeductions();
+                    totalNet += payslip.getNetSalary();
+                }
+                for (Employee employee : inFlightChunks.poll()) { // Including those skipped for having no attendance
+                    finished.add(employee.getEmployeeId());
+                    employeesDone++;
+                }
+                if (progressListener != null) {
+                    progressListener.progress(employeesDone, employeesResumed + employees.size());
+                }
+                if (System.nanoTime() - lastCheckpoint >= checkpointIntervalMillis * 1_000_000) {
+                    writer.flush();
+                    out.getFD().sync(); // The rows must be on disk before the checkpoint says they are
+                    checkpoint.record(channel.size(), rowsWritten, totalGross, totalDeductions, totalNet, finished);
+                    finished.clear();
+                    lastCheckpoint = System.nanoTime();
+                }
+            }
+            writer.flush();
+            out.getFD().sync();
+        } catch (IOException | RuntimeException ex) {
+            for (Future<List<Payslip>> pending : inFlight) {
+                pending.cancel(true);
+            }
+            checkpoint.close(); // Kept with the partial register so the run can be resumed
+            throw ex;
+        }
+        Files.move(Paths.get(partialFile), Paths.get(registerFile), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        checkpoint.delete();
+        employeesSkipped = employeesResumed + employees.size() - rowsWritten;
+        elapsedNanos = System.nanoTime() - start;
+    }
+
+    /**
+     * Hash of everything the register is computed from: each employee's details and attendance
+     * totals for the period, and the statutory tables in effect at its end. The data itself is
+     * hashed rather than AttendanceManager.getDataVersion recorded, because that counter starts
+     * over in every JVM and a crashed run is resumed in a new one. Corrections outside the
+     * period do not change it, so they do not throw away a checkpoint.
+     */
+    String dataFingerprint() throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex); // Every Java platform provides SHA-256
+        }
+        try (DataOutputStream data = new DataOutputStream(new BufferedOutputStream(new DigestOutputStream(OutputStream.nullOutputStream(), digest)))) {
+            for (Employee employee : employeeManager.getEmployees()) {
+                AttendanceSummary attendance = attendanceManager.getSummary(employee.getEmployeeId(), periodStart, periodEnd);
+                data.writeInt(employee.getEmployeeId());
+                for (String field : employee.toCsvArray()) {
+                    data.writeUTF(field == null ? "" : field);
+                }
+                data.writeLong(attendance.getRegularMinutes());
+                data.writeLong(attendance.getOvertimeMinutes());
+                data.writeLong(attendance.getTardyMinutes());
+                data.writeInt(attendance.getDaysPresent());
+            }
+            for (StatutoryTable.Kind kind : StatutoryTable.Kind.values()) {
+                data.writeLong(StatutoryTables.getInstance().table(kind, periodEnd).getEffectiveFrom().toEpochDay());
+            }
+        }
+        StringBuilder hex = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.substring(0, 16);
+    }
+
+    private List<Payslip> calculateChunk(List<Employee> chunk) {
+        List<Payslip> payslips = new ArrayList<>(chunk.size());
+        for (Employee employee : chunk) {
+            AttendanceSummary attendance = attendanceManager.getSummary(employee.getEmployeeId(), periodStart, periodEnd); // Running totals, no records copied
+            if (attendance.getDaysPresent() > 0) {
+                payslips.add(Payslip.calculate(employee, periodStart, periodEnd, attendance));
+            }
+        }
+        return payslips;
+    }
+
+    // Unwraps task failures so callers see the exception the task threw
+    static <T> T join(Future<T> result) throws IOException {
+        try {
+            return result.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while computing payroll", ex);
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    public int getRowsWritten() {
+        return rowsWritten;
+    }
+
+    // Employees taken from the checkpoint of an earlier attempt instead of being computed
+    public int getEmployeesResumed() {
+        return employeesResumed;
+    }
+
+    public int getEmployeesSkipped() {
+        return employeesSkipped;
+    }
+
+    public double getElapsedMillis() {
+        return elapsedNanos / 1e6;
+    }
+
+    public double getRowsPerSecond() {
+        return elapsedNanos == 0 ? 0 : rowsWritten * 1e9 / elapsedNanos;
+    }
+
+    public String report() {
+        StringBuilder report = new StringBuilder();
+        report.append("--- Payroll run ").append(periodStart.format(DATE_FORMAT)).append(" to ").append(periodEnd.format(DATE_FORMAT)).append(" ---\n");
+        report.append(String.format("Employees paid: %,d  Skipped (no attendance): %,d%n", rowsWritten, employeesSkipped));
+        if (employeesResumed > 0) {
+            report.append(String.format("Resumed from checkpoint: %,d employees%n", employeesResumed));
+        }
+        report.append(String.format("Total Gross: P %,.2f  Total Deductions: P %,.2f  Total Net: P %,.2f%n", Money.toPesos(totalGross), Money.toPesos(totalDeductions), Money.toPesos(totalNet)));
+        report.append(String.format("Run time: %,.1f ms (%,.0f rows/sec on %d threads)%n", getElapsedMillis(), getRowsPerSecond(), pool.getParallelism()));
+        return report.toString();
+    }
+
+    // Usage: PayrollRun <start MM/dd/yyyy> <end MM/dd/yyyy> [register file] [run ID]
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: PayrollRun <start MM/dd/yyyy> <end MM/dd/yyyy> [register file] [run ID]");
+            return;
+        }
+        try {
+            StatutoryTables.getInstance().checkLoaded();
+            LocalDate start = LocalDate.parse(args[0], DATE_FORMAT);
+            LocalDate end = LocalDate.parse(args[1], DATE_FORMAT);
+            String registerFile = args.length > 2 ? args[2] : DEFAULT_REGISTER_FILE;
+            PayrollRun run = new PayrollRun(start, end);
+            run.run(registerFile, args.length > 3 ? args[3] : run.getDefaultRunId());
+            System.out.print(run.report());
+            System.out.println("Payroll register saved to " + registerFile);
+        } catch (DateTimeParseException ex) {
+            System.err.println("Invalid date format. Please use MM/dd/yyyy.");
+        } catch (IllegalArgumentException | IllegalStateException ex) {
+            System.err.println(ex.getMessage());
+        } catch (UncheckedIOException ex) { // Attendance could not be loaded
+            System.err.println(ex.getMessage());
+        } catch (IOException ex) {
+            System.err.println("Error writing payroll register: " + ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.mycompany.motorphpayrollsystem;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * One set of what-if parameters for PayrollSimulation:
+ *   rate multiplier     - applied to every hourly rate and monthly basic salary (1.05 is a 5% raise)
+ *   overtime multiplier - overtime pay per hour as a multiple of the hourly rate (1.25 today)
+ *   grace period        - a time in after this counts as tardy (8:10 today)
+ *   table date          - contribution and tax tables in effect on this date are used
+ *                         (null for those in effect at the end of the simulated period)
+ * Multipliers are kept as basis points, so they may have up to four decimals.
+ */
+public final class PayrollScenario {
+    public static final BigDecimal CURRENT_RATE_MULTIPLIER = BigDecimal.ONE;
+    public static final BigDecimal CURRENT_OVERTIME_MULTIPLIER = BigDecimal.valueOf(Motorphpayrollsystem.OVERTIME_MULTIPLIER_BASIS_POINTS, 4);
+    public static final LocalTime CURRENT_GRACE_PERIOD = LocalTime.of(8, 10);
+
+    private final String name;
+    private final long rateMultiplierBasisPoints;
+    private final long overtimeMultiplierBasisPoints;
+    private final LocalTime gracePeriod;
+    private final LocalDate tableDate;
+
+    public PayrollScenario(String name, BigDecimal rateMultiplier, BigDecimal overtimeMultiplier, LocalTime gracePeriod, LocalDate tableDate) {
+        if (rateMultiplier.signum() < 0 || overtimeMultiplier.signum() < 0) {
+            throw new IllegalArgumentException(name + ": multipliers cannot be negative");
+        }
+        if (gracePeriod.getSecond() != 0 || gracePeriod.getNano() != 0) {
+            throw new IllegalArgumentException(name + ": grace period must be a whole minute"); // Punches are kept to the minute
+        }
+        this.name = name;
+        this.rateMultiplierBasisPoints = basisPoints(name, rateMultiplier);
+        this.overtimeMultiplierBasisPoints = basisPoints(name, overtimeMultiplier);
+        this.gracePeriod = gracePeriod;
+        this.tableDate = tableDate;
+    }
+
+    // The rules in effect today, the baseline other scenarios are compared with
+    public static PayrollScenario current(String name) {
+        return new PayrollScenario(name, CURRENT_RATE_MULTIPLIER, CURRENT_OVERTIME_MULTIPLIER, CURRENT_GRACE_PERIOD, null);
+    }
+
+    /**
+     * Parses "name:key=value,..." with the keys rate, ot, grace (HH:mm) and tables (yyyy-MM-dd),
+     * e.g. "raise5:rate=1.05" or "ot150:ot=1.5,grace=08:00". Keys left out keep today's value.
+     */
+    public static PayrollScenario parse(String spec) {
+        int colon = spec.indexOf(':');
+        String name = colon < 0 ? spec : spec.substring(0, colon);
+        if (name.isEmpty()) {
+            throw new IllegalArgumentException("Scenario has no name: " + spec);
+        }
+        BigDecimal rate = CURRENT_RATE_MULTIPLIER;
+        BigDecimal overtime = CURRENT_OVERTIME_MULTIPLIER;
+        LocalTime grace = CURRENT_GRACE_PERIOD;
+        LocalDate tables = null;
+        if (colon >= 0 && colon < spec.length() - 1) {
+            for (String setting : spec.substring(colon + 1).split(",")) {
+                String[] keyValue = setting.split("=", 2);
+                if (keyValue.length != 2) {
+                    throw new IllegalArgumentException(name + ": expected key=value, got " + setting);
+                }
+                String key = keyValue[0].trim();
+                String value = keyValue[1].trim();
+                try {
+                    if (key.equals("rate")) {
+                        rate = new BigDecimal(value);
+                    } else if (key.equals("ot")) {
+                        overtime = new BigDecimal(value);
+                    } else if (key.equals("grace")) {
+                        grace = LocalTime.parse(value);
+                    } else if (key.equals("tables")) {
+                        tables = LocalDate.parse(value);
+                    } else {
+                        throw new IllegalArgumentException(name + ": unknown setting " + key);
+                    }
+                } catch (NumberFormatException | DateTimeParseException ex) {
+                    throw new IllegalArgumentException(name + ": invalid value for " + key + ": " + value);
+                }
+            }
+        }
+        return new PayrollScenario(name, rate, overtime, grace, tables);
+    }
+
+    private static long basisPoints(String name, BigDecimal multiplier) {
+        try {
+            return multiplier.movePointRight(4).longValueExact();
+        } catch (ArithmeticException ex) {
+            throw new IllegalArgumentException(name + ": multipliers may have at most four decimals: " + multiplier);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getRateMultiplierBasisPoints() {
+        return rateMultiplierBasisPoints;
+    }
+
+    public long getOvertimeMultiplierBasisPoints() {
+        return overtimeMultiplierBasisPoints;
+    }
+
+    public LocalTime getGracePeriod() {
+        return gracePeriod;
+    }
+
+    // Null means the tables in effect at the end of the simulated period
+    public LocalDate getTableDate() {
+        return tableDate;
+    }
+
+    // e.g. "rate x1.05, OT x1.25, grace 08:10, tables of period end"
+    public String describe() {
+        return "rate x" + BigDecimal.valueOf(rateMultiplierBasisPoints, 4).stripTrailingZeros().toPlainString()
+                + ", OT x" + BigDecimal.valueOf(overtimeMultiplierBasisPoints, 4).stripTrailingZeros().toPlainString()
+                + ", grace " + gracePeriod
+                + ", tables of " + (tableDate == null ? "period end" : tableDate.toString());
+    }
+}
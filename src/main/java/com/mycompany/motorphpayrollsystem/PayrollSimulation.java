@@ -0,0 +1,366 @@
+package com.mycompany.motorphpayrollsystem;
+
+import com.opencsv.CSVWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * What-if payroll: the company's payroll cost for one pay period under several scenarios
+ * (see PayrollScenario), e.g. a rate increase or a different overtime multiplier, compared
+ * side by side.
+ * The attendance is read once into a snapshot of per-employee totals: regular and overtime
+ * minutes, and the days' times in sorted with running sums, from which the tardy minutes for
+ * any grace period are found by binary search. Every scenario is evaluated against that same
+ * snapshot, in parallel chunks of employees on a ForkJoinPool, so no scenario reads or walks
+ * attendance records again. Amounts are computed in centavos exactly as Payslip does; the
+ * current rules give the same totals as PayrollRun.
+ */
+public class PayrollSimulation {
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("MM/dd/yyyy");
+    private static final int MAX_CHUNK_SIZE = 256;
+    public static final String DEFAULT_COMPARISON_FILE = "payroll_simulation.csv";
+
+    // Columns of the comparison file, see writeComparison
+    public static final String[] COMPARISON_HEADER = {"Scenario", "Parameters", "Employees Paid", "Gross Salary",
+        "Overtime Pay", "Tardiness Deduction", "SSS", "PhilHealth", "Pag-IBIG", "Withholding Tax", "Net Salary",
+        "Gross Change", "Gross Change %"};
+
+    private final LocalDate periodStart;
+    private final LocalDate periodEnd;
+    private final ForkJoinPool pool;
+    private final List<EmployeeSnapshot> snapshot;
+    private long snapshotNanos;
+
+    // One employee's pay inputs and attendance totals for the period
+    private static final class EmployeeSnapshot {
+        final int employeeId;
+        final long hourlyRate; // Centavos
+        final long basicSalary;
+        final long regularMinutes;
+        final long overtimeMinutes;
+        final int[] timesIn; // Minute of the day of each day's time in, sorted
+        final long[] timesInSums; // timesInSums[i] is the sum of timesIn[0..i-1]
+
+        EmployeeSnapshot(Employee employee, List<AttendanceRecord> records) {
+            this.employeeId = employee.getEmployeeId();
+            this.hourlyRate = Money.ofPesos(employee.getHourlyRate());
+            this.basicSalary = Money.ofPesos(employee.getSalary());
+            AttendanceSummary attendance = AttendanceSummary.of(records);
+            this.regularMinutes = attendance.getRegularMinutes();
+            this.overtimeMinutes = attendance.getOvertimeMinutes();
+            this.timesIn = new int[records.size()];
+            for (int i = 0; i < timesIn.length; i++) {
+                timesIn[i] = records.get(i).getTimeIn().toSecondOfDay() / 60;
+            }
+            Arrays.sort(timesIn);
+            this.timesInSums = new long[timesIn.length + 1];
+            for (int i = 0; i < timesIn.length; i++) {
+                timesInSums[i + 1] = timesInSums[i] + timesIn[i];
+            }
+        }
+
+        // Minutes past the grace period summed over the days that are late, O(log days)
+        long tardyMinutes(int graceMinute) {
+            int low = 0;
+            int high = timesIn.length;
+            while (low < high) { // First day with a time in after the grace period
+                int mid = (low + high) >>> 1;
+                if (timesIn[mid] <= graceMinute) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            int lateDays = timesIn.length - low;
+            return timesInSums[timesIn.length] - timesInSums[low] - (long) lateDays * graceMinute;
+        }
+    }
+
+    // Totals of one scenario over the whole company (or one employee, see simulateEmployee), in centavos
+    public static final class ScenarioResult {
+        private final PayrollScenario scenario;
+        private int employeesPaid;
+        private long grossSalary;
+        private long overtimePay;
+        private long tardinessDeduction;
+        private long sssDeduction;
+        private long philhealthDeduction;
+        private long pagibigDeduction;
+        private long taxDeduction;
+        private long netSalary;
+
+        ScenarioResult(PayrollScenario scenario) {
+            this.scenario = scenario;
+        }
+
+        void add(ScenarioResult other) {
+            employeesPaid += other.employeesPaid;
+            grossSalary += other.grossSalary;
+            overtimePay += other.overtimePay;
+            tardinessDeduction += other.tardinessDeduction;
+            sssDeduction += other.sssDeduction;
+            philhealthDeduction += other.philhealthDeduction;
+            pagibigDeduction += other.pagibigDeduction;
+            taxDeduction += other.taxDeduction;
+            netSalary += other.netSalary;
+        }
+
+        public PayrollScenario getScenario() {
+            return scenario;
+        }
+
+        public int getEmployeesPaid() {
+            return employeesPaid;
+        }
+
+        public long getGrossSalary() {
+            return grossSalary;
+        }
+
+        public long getOvertimePay() {
+            return overtimePay;
+        }
+
+        public long getTardinessDeduction() {
+            return tardinessDeduction;
+        }
+
+        public long getSssDeduction() {
+            return sssDeduction;
+        }
+
+        public long getPhilhealthDeduction() {
+            return philhealthDeduction;
+        }
+
+        public long getPagibigDeduction() {
+            return pagibigDeduction;
+        }
+
+        public long getTaxDeduction() {
+            return taxDeduction;
+        }
+
+        public long getNetSalary() {
+            return netSalary;
+        }
+    }
+
+    public PayrollSimulation(LocalDate periodStart, LocalDate periodEnd) throws IOException {
+        this(periodStart, periodEnd, EmployeeManager.getInstance(), AttendanceManager.getInstance(), ForkJoinPool.commonPool());
+    }
+
+    // Takes the attendance snapshot; changes made afterwards are not seen by simulate
+    public PayrollSimulation(LocalDate periodStart, LocalDate periodEnd, EmployeeManager employeeManager,
+                             AttendanceManager attendanceManager, ForkJoinPool pool) throws IOException {
+        if (periodEnd.isBefore(periodStart)) {
+            throw new IllegalArgumentException("End Date must be after or equal to Start Date.");
+        }
+        this.periodStart = periodStart;
+        this.periodEnd = periodEnd;
+        this.pool = pool;
+        long start = System.nanoTime();
+        List<Employee> employees = new ArrayList<>(employeeManager.getEmployees());
+        List<Future<List<EmployeeSnapshot>>> chunks = new ArrayList<>();
+        for (List<Employee> chunk : chunks(employees)) {
+            chunks.add(pool.submit(() -> {
+                List<EmployeeSnapshot> snapshots = new ArrayList<>(chunk.size());
+                for (Employee employee : chunk) {
+                    List<AttendanceRecord> records = attendanceManager.getAttendance(employee.getEmployeeId(), periodStart, periodEnd);
+                    if (!records.isEmpty()) { // No attendance, no pay in any scenario
+                        snapshots.add(new EmployeeSnapshot(employee, records));
+                    }
+                }
+                return snapshots;
+            }));
+        }
+        this.snapshot = new ArrayList<>(employees.size());
+        for (Future<List<EmployeeSnapshot>> chunk : chunks) {
+            snapshot.addAll(PayrollRun.join(chunk));
+        }
+        this.snapshotNanos = System.nanoTime() - start;
+    }
+
+    private List<List<EmployeeSnapshot>> snapshotChunks() {
+        return chunks(snapshot);
+    }
+
+    private <T> List<List<T>> chunks(List<T> items) {
+        int chunkSize = Math.max(1, Math.min(MAX_CHUNK_SIZE, items.size() / (pool.getParallelism() * 4)));
+        List<List<T>> chunks = new ArrayList<>();
+        for (int next = 0; next < items.size(); next += chunkSize) {
+            chunks.add(items.subList(next, Math.min(next + chunkSize, items.size())));
+        }
+        return chunks;
+    }
+
+    public int getEmployeeCount() {
+        return snapshot.size();
+    }
+
+    /**
+     * Evaluates every scenario against the snapshot, all (scenario, chunk of employees) pairs
+     * in parallel. Results are in the order of the scenarios; the first is the baseline the
+     * comparison is made against.
+     */
+    public List<ScenarioResult> simulate(List<PayrollScenario> scenarios) throws IOException {
+        List<List<EmployeeSnapshot>> chunks = snapshotChunks();
+        List<List<Future<ScenarioResult>>> pending = new ArrayList<>(scenarios.size());
+        for (PayrollScenario scenario : scenarios) {
+            List<Future<ScenarioResult>> parts = new ArrayList<>(chunks.size());
+            for (List<EmployeeSnapshot> chunk : chunks) {
+                parts.add(pool.submit(() -> evaluate(scenario, chunk)));
+            }
+            pending.add(parts);
+        }
+        List<ScenarioResult> results = new ArrayList<>(scenarios.size());
+        for (int i = 0; i < scenarios.size(); i++) {
+            ScenarioResult result = new ScenarioResult(scenarios.get(i));
+            for (Future<ScenarioResult> part : pending.get(i)) {
+                result.add(PayrollRun.join(part));
+            }
+            results.add(result);
+        }
+        return results;
+    }
+
+    // One employee's figures under a scenario, or null if they have no attendance in the period (see PayrollSimulationCheck)
+    ScenarioResult simulateEmployee(PayrollScenario scenario, int employeeId) {
+        for (EmployeeSnapshot employee : snapshot) {
+            if (employee.employeeId == employeeId) {
+                return evaluate(scenario, List.of(employee));
+            }
+        }
+        return null;
+    }
+
+    // The same calculation as Payslip, with the scenario's parameters
+    private ScenarioResult evaluate(PayrollScenario scenario, List<EmployeeSnapshot> employees) {
+        LocalDate tableDate = scenario.getTableDate() != null ? scenario.getTableDate() : periodEnd;
+        StatutoryTables tables = StatutoryTables.getInstance();
+        StatutoryTable sssTable = tables.table(StatutoryTable.Kind.SSS, tableDate);
+        StatutoryTable philhealthTable = tables.table(StatutoryTable.Kind.PHILHEALTH, tableDate);
+        StatutoryTable pagibigTable = tables.table(StatutoryTable.Kind.PAGIBIG, tableDate);
+        StatutoryTable taxTable = tables.table(StatutoryTable.Kind.WITHHOLDING_TAX, tableDate);
+        long rateMultiplier = scenario.getRateMultiplierBasisPoints();
+        long overtimeMultiplier = scenario.getOvertimeMultiplierBasisPoints();
+        int graceMinute = scenario.getGracePeriod().toSecondOfDay() / 60;
+
+        ScenarioResult result = new ScenarioResult(scenario);
+        for (EmployeeSnapshot employee : employees) {
+            long hourlyRate = Money.multiply(employee.hourlyRate, rateMultiplier, 10_000);
+            long basicSalary = Money.multiply(employee.basicSalary, rateMultiplier, 10_000);
+            long grossSalary = Motorphpayrollsystem.calculateGrossSalaryCentavos(hourlyRate, employee.regularMinutes, employee.overtimeMinutes, overtimeMultiplier);
+            long tardinessDeduction = Money.multiply(hourlyRate, employee.tardyMinutes(graceMinute), 60);
+            long sssDeduction = sssTable.apply(basicSalary);
+            long philhealthDeduction = philhealthTable.apply(basicSalary);
+            long pagibigDeduction = pagibigTable.apply(basicSalary);
+            long taxDeduction = taxTable.apply(grossSalary - sssDeduction - philhealthDeduction - pagibigDeduction - tardinessDeduction);
+
+            result.employeesPaid++;
+            result.grossSalary += grossSalary;
+            result.overtimePay += Motorphpayrollsystem.calculateOvertimePayCentavos(hourlyRate, employee.overtimeMinutes, overtimeMultiplier);
+            result.tardinessDeduction += tardinessDeduction;
+            result.sssDeduction += sssDeduction;
+            result.philhealthDeduction += philhealthDeduction;
+            result.pagibigDeduction += pagibigDeduction;
+            result.taxDeduction += taxDeduction;
+            result.netSalary += grossSalary - tardinessDeduction - sssDeduction - philhealthDeduction - pagibigDeduction - taxDeduction;
+        }
+        return result;
+    }
+
+    // Change in gross salary from the first result, as "+1234.56" and "+5.00%"
+    private static String[] grossChange(ScenarioResult result, ScenarioResult baseline) {
+        long change = result.grossSalary - baseline.grossSalary;
+        String percent = baseline.grossSalary == 0 ? "" : String.format("%+.2f%%", change * 100.0 / baseline.grossSalary);
+        return new String[]{(change >= 0 ? "+" : "") + Money.format(change), percent};
+    }
+
+    public void writeComparison(List<ScenarioResult> results, String fileName) throws IOException {
+        try (CSVWriter writer = new CSVWriter(new FileWriter(fileName))) {
+            writer.writeNext(COMPARISON_HEADER);
+            for (ScenarioResult result : results) {
+                String[] change = grossChange(result, results.get(0));
+                writer.writeNext(new String[]{
+                    result.scenario.getName(),
+                    result.scenario.describe(),
+                    String.valueOf(result.employeesPaid),
+                    Money.format(result.grossSalary),
+                    Money.format(result.overtimePay),
+                    Money.format(result.tardinessDeduction),
+                    Money.format(result.sssDeduction),
+                    Money.format(result.philhealthDeduction),
+                    Money.format(result.pagibigDeduction),
+                    Money.format(result.taxDeduction),
+                    Money.format(result.netSalary),
+                    change[0],
+                    change[1]
+                });
+            }
+        }
+    }
+
+    // Cost comparison table for the console, amounts in pesos
+    public String report(List<ScenarioResult> results) {
+        StringBuilder report = new StringBuilder();
+        report.append("--- Payroll simulation ").append(periodStart.format(DATE_FORMAT)).append(" to ").append(periodEnd.format(DATE_FORMAT))
+                .append(String.format(" (%,d employees with attendance, snapshot %,.1f ms) ---%n", snapshot.size(), snapshotNanos / 1e6));
+        report.append(String.format("%-12s %16s %14s %12s %12s %12s %12s %14s %16s %16s %9s%n", "Scenario", "Gross", "Overtime", "Tardiness",
+                "SSS", "PhilHealth", "Pag-IBIG", "Tax", "Net", "Gross change", "%"));
+        for (ScenarioResult result : results) {
+            String[] change = grossChange(result, results.get(0));
+            report.append(String.format("%-12s %,16.2f %,14.2f %,12.2f %,12.2f %,12.2f %,12.2f %,14.2f %,16.2f %16s %9s%n",
+                    result.scenario.getName(), Money.toPesos(result.grossSalary), Money.toPesos(result.overtimePay),
+                    Money.toPesos(result.tardinessDeduction), Money.toPesos(result.sssDeduction), Money.toPesos(result.philhealthDeduction),
+                    Money.toPesos(result.pagibigDeduction), Money.toPesos(result.taxDeduction), Money.toPesos(result.netSalary),
+                    change[0], change[1]));
+        }
+        for (ScenarioResult result : results) {
+            report.append(String.format("  %-12s %s%n", result.scenario.getName(), result.scenario.describe()));
+        }
+        return report.toString();
+    }
+
+    // Usage: PayrollSimulation <start MM/dd/yyyy> <end MM/dd/yyyy> <scenario>...
+    // Each scenario is name:key=value,... (see PayrollScenario.parse); the current rules come first as the baseline
+    public static void main(String[] args) {
+        if (args.length < 3) {
+            System.err.println("Usage: PayrollSimulation <start MM/dd/yyyy> <end MM/dd/yyyy> <scenario>...");
+            System.err.println("  e.g. raise5:rate=1.05 ot150:ot=1.5 strict:grace=08:00 tables2024:tables=2024-01-01");
+            return;
+        }
+        try {
+            StatutoryTables.getInstance().checkLoaded();
+            LocalDate start = LocalDate.parse(args[0], DATE_FORMAT);
+            LocalDate end = LocalDate.parse(args[1], DATE_FORMAT);
+            List<PayrollScenario> scenarios = new ArrayList<>();
+            scenarios.add(PayrollScenario.current("current"));
+            for (int i = 2; i < args.length; i++) {
+                scenarios.add(PayrollScenario.parse(args[i]));
+            }
+            PayrollSimulation simulation = new PayrollSimulation(start, end);
+            List<ScenarioResult> results = simulation.simulate(scenarios);
+            System.out.print(simulation.report(results));
+            simulation.writeComparison(results, DEFAULT_COMPARISON_FILE);
+            System.out.println("Comparison saved to " + DEFAULT_COMPARISON_FILE);
+        } catch (DateTimeParseException ex) {
+            System.err.println("Invalid date format. Please use MM/dd/yyyy.");
+        } catch (IllegalArgumentException | IllegalStateException ex) {
+            System.err.println(ex.getMessage());
+        } catch (UncheckedIOException ex) { // Attendance could not be loaded
+            System.err.println(ex.getMessage());
+        } catch (IOException ex) {
+            System.err.println("Error running payroll simulation: " + ex.getMessage());
+        }
+    }
+}
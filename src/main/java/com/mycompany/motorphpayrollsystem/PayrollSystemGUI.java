@@ -1,6 +1,7 @@
 package com.mycompany.motorphpayrollsystem;
 import com.mycompany.motorphpayrollsystem.AttendanceRecord;
 import com.mycompany.motorphpayrollsystem.AttendanceManager;
+import com.opencsv.exceptions.CsvValidationException;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
@@ -11,6 +12,7 @@ import java.awt.event.ComponentAdapter;
 import java.awt.event.ComponentEvent;
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
@@ -20,6 +22,8 @@ import java.util.stream.*;
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 
 public class PayrollSystemGUI extends JFrame {
@@ -117,6 +121,7 @@ public class PayrollSystemGUI extends JFrame {
     }
 
     private void logout() {
+        flushAttendance(); // Make sure this session's attendance changes are on disk
         this.loggedInUser = null;
         System.out.println("DEBUG: PayrollSystemGUI - User logged out. Clearing loggedInUser.");
 
@@ -307,7 +312,10 @@ public class PayrollSystemGUI extends JFrame {
         viewAllBtn.addActionListener(e -> showPanel("ViewAll"));
         addEmployeeBtn.addActionListener(e -> showPanel("AddEmployee"));
         logoutBtn.addActionListener(e -> logout());
-        exitBtn.addActionListener(e -> System.exit(0));
+        exitBtn.addActionListener(e -> {
+            flushAttendance();
+            System.exit(0);
+        });
         
         //For delete button
         deleteBtn.addActionListener(e -> {
@@ -451,6 +459,10 @@ public class PayrollSystemGUI extends JFrame {
         buttonPanel.add(viewEmployee);
         buttonPanel.add(updateEmployee);
         buttonPanel.add(attendanceBtn); // Add the general attendance button
+        JButton importAttendanceBtn = createStyledButton2("Import Attendance");
+        buttonPanel.add(importAttendanceBtn);
+        JButton payrollRegisterBtn = createStyledButton2("Payroll Register");
+        buttonPanel.add(payrollRegisterBtn);
 
          viewEmployee.addActionListener(e -> {
             int selectedRow = employeeTable.getSelectedRow();
@@ -458,10 +470,7 @@ public class PayrollSystemGUI extends JFrame {
                 int empId = Integer.parseInt(employeeTable.getValueAt(selectedRow, 0).toString());
                 Employee selectedEmp = employeeManager.getEmployeeById(empId);
                 if (selectedEmp != null) {
-                    List<AttendanceRecord> allRecords = AttendanceManager.getInstance().getAllAttendanceRecords();
-                    List<AttendanceRecord> employeeRecords = allRecords.stream()
-                           .filter(r -> r.getEmployeeId() == selectedEmp.getEmployeeId())
-                           .toList();
+                    List<AttendanceRecord> employeeRecords = AttendanceManager.getInstance().getAttendanceByEmployeeId(selectedEmp.getEmployeeId());
 
                     setupViewSpecificEmployeePanel(selectedEmp, employeeRecords);
                     showPanel("ViewSpecific");
@@ -510,6 +519,116 @@ public class PayrollSystemGUI extends JFrame {
            }
         });
 
+        importAttendanceBtn.addActionListener(e -> { // Bulk import of a biometric terminal export
+            JFileChooser chooser = new JFileChooser(new File("."));
+            if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+                return;
+            }
+            String importFile = chooser.getSelectedFile().getPath();
+            importAttendanceBtn.setEnabled(false); // One import at a time
+            importAttendanceBtn.setText("Importing...");
+            new SwingWorker<AttendanceImportResult, Void>() { // Parsing and loading months off the Swing thread
+                @Override
+                protected AttendanceImportResult doInBackground() throws IOException, CsvValidationException {
+                    return AttendanceManager.getInstance().importAttendanceFromFile(importFile);
+                }
+
+                @Override
+                protected void done() {
+                    importAttendanceBtn.setEnabled(true);
+                    importAttendanceBtn.setText("Import Attendance");
+                    AttendanceImportResult result;
+                    try {
+                        result = get();
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    } catch (ExecutionException ex) {
+                        Logger.getLogger(PayrollSystemGUI.class.getName()).log(Level.SEVERE, "Attendance import failed", ex.getCause());
+                        JOptionPane.showMessageDialog(PayrollSystemGUI.this, "Error importing attendance: " + ex.getCause().getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                        return;
+                    }
+                    StringBuilder message = new StringBuilder(result.getSummary());
+                    int shown = 0;
+                    for (AttendanceImportResult.Rejection rejection : result.getRejections()) {
+                        if (shown++ == 20) {
+                            message.append("\n... and ").append(result.getRejectedCount() - 20).append(" more");
+                            break;
+                        }
+                        message.append("\n").append(rejection);
+                    }
+                    JOptionPane.showMessageDialog(PayrollSystemGUI.this, message.toString(), "Import Attendance",
+                            result.getRejectedCount() == 0 ? JOptionPane.INFORMATION_MESSAGE : JOptionPane.WARNING_MESSAGE);
+                }
+            }.execute();
+        });
+
+        payrollRegisterBtn.addActionListener(e -> { // Payroll for every employee over one period
+            String startDateInput = JOptionPane.showInputDialog(this, "Start Date (MM/dd/yyyy):", "Payroll Register", JOptionPane.QUESTION_MESSAGE);
+            if (startDateInput == null) {
+                return;
+            }
+            String endDateInput = JOptionPane.showInputDialog(this, "End Date (MM/dd/yyyy):", "Payroll Register", JOptionPane.QUESTION_MESSAGE);
+            if (endDateInput == null) {
+                return;
+            }
+            LocalDate start;
+            LocalDate end;
+            try {
+                DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MM/dd/yyyy");
+                start = LocalDate.parse(startDateInput.trim(), formatter);
+                end = LocalDate.parse(endDateInput.trim(), formatter);
+            } catch (DateTimeParseException dtpe) {
+                JOptionPane.showMessageDialog(this, "Invalid date format. Please use MM/dd/yyyy.", "Error", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+            if (end.isBefore(start)) {
+                JOptionPane.showMessageDialog(this, "End Date must be after or equal to Start Date.", "Error", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+            JFileChooser chooser = new JFileChooser(new File("."));
+            chooser.setSelectedFile(new File(PayrollRun.DEFAULT_REGISTER_FILE));
+            if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+                return;
+            }
+            String registerFile = chooser.getSelectedFile().getPath();
+            PayrollRun run = new PayrollRun(start, end);
+            payrollRegisterBtn.setEnabled(false); // One run at a time
+            SwingWorker<Void, Void> worker = new SwingWorker<Void, Void>() { // Every employee's payslip, off the Swing thread
+                @Override
+                protected Void doInBackground() throws IOException {
+                    run.setProgressListener((employeesDone, employeeCount) ->
+                            setProgress(employeeCount == 0 ? 100 : (int) (employeesDone * 100L / employeeCount)));
+                    run.run(registerFile);
+                    return null;
+                }
+
+                @Override
+                protected void done() {
+                    payrollRegisterBtn.setEnabled(true);
+                    payrollRegisterBtn.setText("Payroll Register");
+                    try {
+                        get();
+                        JOptionPane.showMessageDialog(PayrollSystemGUI.this, run.report() + "Saved to " + registerFile,
+                                "Payroll Register", JOptionPane.INFORMATION_MESSAGE);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    } catch (ExecutionException ex) {
+                        Logger.getLogger(PayrollSystemGUI.class.getName()).log(Level.SEVERE, "Payroll run failed", ex.getCause());
+                        JOptionPane.showMessageDialog(PayrollSystemGUI.this, "Error writing payroll register: " + ex.getCause().getMessage()
+                                + "\nRun it again for the same period to continue from the last checkpoint.", "Error", JOptionPane.ERROR_MESSAGE);
+                    }
+                }
+            };
+            worker.addPropertyChangeListener(event -> { // Progress arrives on the Swing thread
+                if ("progress".equals(event.getPropertyName())) {
+                    payrollRegisterBtn.setText("Payroll Register (" + event.getNewValue() + "%)");
+                }
+            });
+            payrollRegisterBtn.setText("Payroll Register (0%)");
+            worker.execute();
+        });
+
         viewAllEmployeesPanel.add(buttonPanel, BorderLayout.SOUTH);
         mainPanel.add(viewAllEmployeesPanel, "ViewAll");
     }
@@ -598,35 +717,31 @@ public class PayrollSystemGUI extends JFrame {
                  }
 
                  try {
-                     var allAttendance = AttendanceManager.getInstance().getAllAttendanceRecords();
-
-                     var filteredRecords = allAttendance.stream()
-                             .filter(r -> r.getEmployeeId() == employee.getEmployeeId()
-                                     && !r.getDate().isBefore(start)
-                                     && !r.getDate().isAfter(end))
-                             .toList();
+                     Payslip payslip = PayslipCache.getInstance().getPayslip(employee, start, end); // Reused until the attendance or employee data changes
+                     List<AttendanceRecord> filteredRecords = payslip.getAttendanceRecords();
 
                      if (filteredRecords.isEmpty()) {
                          payslipArea.setText("No attendance records found for the selected period.");
                          return;
                      }
 
+                     AttendanceSummary summary = payslip.getAttendance();
                      double basicSalary = employee.getSalary();
                      double hourlyRate = employee.getHourlyRate();
-                     double totalRegularHours = Motorphpayrollsystem.calculateTotalRenderedHours(filteredRecords);
-                     double overtimeHours = Motorphpayrollsystem.calculateTotalOvertimeHours(filteredRecords);
-                     double grossSalary = Motorphpayrollsystem.calculateGrossSalary(employee, filteredRecords);
-
-                     double tardinessHours = Motorphpayrollsystem.calculateTotalTardiness(filteredRecords);
-                     double tardinessDeduction = Motorphpayrollsystem.calculateTotalTardinessDeductions(employee, filteredRecords);
-                     double sssDeduction = Motorphpayrollsystem.calculateSSSContribution(basicSalary);
-                     double philhealthDeduction = Motorphpayrollsystem.calculatePhilhealthContribution(basicSalary);
-                     double pagibigDeduction = Motorphpayrollsystem.calculatePagibigContribution(basicSalary);
-                     double taxableIncome = grossSalary - sssDeduction - philhealthDeduction - pagibigDeduction - tardinessDeduction;
-                     double taxDeduction = Motorphpayrollsystem.calculateWithholdingTax(taxableIncome);
-                     double totalDeductions = Motorphpayrollsystem.round(tardinessDeduction + sssDeduction + philhealthDeduction + pagibigDeduction + taxDeduction);
-
-                     double netSalary = Motorphpayrollsystem.round(grossSalary - totalDeductions);
+                     double totalRegularHours = summary.getRegularHours();
+                     double overtimeHours = summary.getOvertimeHours();
+                     double overtimePay = Money.toPesos(payslip.getOvertimePay());
+                     double grossSalary = Money.toPesos(payslip.getGrossSalary());
+
+                     double tardinessHours = summary.getTardinessHours();
+                     double tardinessDeduction = Money.toPesos(payslip.getTardinessDeduction());
+                     double sssDeduction = Money.toPesos(payslip.getSssDeduction());
+                     double philhealthDeduction = Money.toPesos(payslip.getPhilhealthDeduction());
+                     double pagibigDeduction = Money.toPesos(payslip.getPagibigDeduction());
+                     double taxDeduction = Money.toPesos(payslip.getTaxDeduction());
+                     double totalDeductions = Money.toPesos(payslip.getTotalDeductions());
+
+                     double netSalary = Money.toPesos(payslip.getNetSalary());
                      
                      //Display payslip
                      StringBuilder payslipText = new StringBuilder();
@@ -637,7 +752,7 @@ public class PayrollSystemGUI extends JFrame {
                      payslipText.append(String.format("Hourly Rate: P %.2f%n", hourlyRate));
                      payslipText.append(String.format("Total Hours Worked (Regular): %.2f hours%n", totalRegularHours));
                      payslipText.append(String.format("Overtime Hours: %.2f hours%n", overtimeHours));
-                     payslipText.append(String.format("Overtime Pay: P %.2f%n", (overtimeHours * hourlyRate * 1.25)));
+                     payslipText.append(String.format("Overtime Pay: P %.2f%n", overtimePay));
                      payslipText.append(String.format("Gross Salary: P %.2f%n", grossSalary));
                      payslipText.append("----------------------------------------------------------\n");
                      payslipText.append("Deductions:\n");
@@ -1125,13 +1240,17 @@ public class PayrollSystemGUI extends JFrame {
                      }
 
                      AttendanceRecord record = new AttendanceRecord(employeeId, lastName, firstName, date, timeIn, timeOut);
-                     boolean added = AttendanceManager.getInstance().addAttendanceRecord(record);
-                     if (added) {
-                         JOptionPane.showMessageDialog(attendancePanel, "Attendance recorded successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
-                         clearForm(dateField, timeInField, timeOutField);
-                     } else {
-                         JOptionPane.showMessageDialog(attendancePanel, "Attendance record for this employee on the specified date already exists.", "Record Already Exists", JOptionPane.WARNING_MESSAGE);
-                     }
+                     // Reported once the record is on disk, which in write-behind mode is after the next flush
+                     AttendanceManager.getInstance().submitAttendanceRecord(record).whenComplete((added, failure) -> SwingUtilities.invokeLater(() -> {
+                         if (failure != null) {
+                             JOptionPane.showMessageDialog(attendancePanel, "Attendance could not be saved: " + failure.getMessage(), "Save Error", JOptionPane.ERROR_MESSAGE);
+                         } else if (added) {
+                             JOptionPane.showMessageDialog(attendancePanel, "Attendance recorded successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
+                             clearForm(dateField, timeInField, timeOutField);
+                         } else {
+                             JOptionPane.showMessageDialog(attendancePanel, "Attendance record for this employee on the specified date already exists.", "Record Already Exists", JOptionPane.WARNING_MESSAGE);
+                         }
+                     }));
                  } catch (Exception ex) {
                      JOptionPane.showMessageDialog(attendancePanel, "Error: " + ex.getMessage(), "Input Error", JOptionPane.ERROR_MESSAGE);
                  }
@@ -1152,6 +1271,15 @@ public class PayrollSystemGUI extends JFrame {
 
     // --- Helper Methods ---
 
+    private void flushAttendance() {
+        try {
+            attendanceManager.flush();
+        } catch (IOException ex) {
+            Logger.getLogger(PayrollSystemGUI.class.getName()).log(Level.SEVERE, null, ex);
+            JOptionPane.showMessageDialog(this, "Some attendance changes could not be saved yet: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
     private void showPanel(String panelName) {
         CardLayout cl = (CardLayout) (mainPanel.getLayout());
         
@@ -1196,9 +1324,15 @@ public class PayrollSystemGUI extends JFrame {
                     "Confirm Deletion", JOptionPane.YES_NO_OPTION);
             if (confirmation == JOptionPane.YES_OPTION) {
                 employeeManager.deleteEmployee(id);
-                attendanceManager.deleteRecord(id);
+                CompletableFuture<Boolean> attendanceDeleted = attendanceManager.submitDelete(id);
                 userManager.deleteUser(id);
-                JOptionPane.showMessageDialog(null, "Employee deleted successfully.");
+                attendanceDeleted.whenComplete((removed, failure) -> SwingUtilities.invokeLater(() -> {
+                    if (failure != null) {
+                        JOptionPane.showMessageDialog(null, "Employee deleted, but their attendance records could not be deleted: " + failure.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                    } else {
+                        JOptionPane.showMessageDialog(null, "Employee deleted successfully.");
+                    }
+                }));
             }
         } catch (NumberFormatException ex) {
             JOptionPane.showMessageDialog(null, "Invalid ID entered.", "Error", JOptionPane.ERROR_MESSAGE);
@@ -1272,10 +1406,28 @@ public class PayrollSystemGUI extends JFrame {
 
     // --- Main method ---
     public static void main(String[] args) {
+        try {
+            StatutoryTables.getInstance().checkLoaded(); // Every payslip needs them, so stop here rather than fail on each one
+        } catch (IllegalStateException ex) {
+            System.err.println(ex.getMessage());
+            JOptionPane.showMessageDialog(null, ex.getMessage(), "Statutory Tables Missing", JOptionPane.ERROR_MESSAGE);
+            System.exit(1);
+        }
+        
         // Initialize EmployeeManager and Attendance Manager early to check if data is available
         EmployeeManager employeeManager = EmployeeManager.getInstance(); 
         UserManager userManager = UserManager.getInstance();        
-        AttendanceManager.getInstance();
+        AttendanceManager attendanceManager = null;
+        try {
+            attendanceManager = AttendanceManager.getInstance();
+        } catch (UncheckedIOException ex) { // attendance.csv could not be moved into monthly files, and is left as it was
+            System.err.println(ex.getMessage());
+            JOptionPane.showMessageDialog(null, ex.getMessage(), "Attendance Not Loaded", JOptionPane.ERROR_MESSAGE);
+            System.exit(1);
+        }
+        if (Boolean.getBoolean("motorph.writeBehind")) { // Opt-in with -Dmotorph.writeBehind=true: attendance changes are journaled in the background
+            attendanceManager.enableWriteBehind(500, 64);
+        }
         
         //Syncs data from employee to user.csv 
         List<Employee> employees = employeeManager.getEmployees();
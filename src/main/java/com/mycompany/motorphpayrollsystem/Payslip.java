@@ -0,0 +1,159 @@
+package com.mycompany.motorphpayrollsystem;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One employee's pay for one period: hours, gross, each statutory deduction, tax and net.
+ * Computed exactly like the payslip shown in PayrollSystemGUI and ViewProfile, where
+ * tardiness is deducted and also lowers the taxable income. Contributions and tax use the
+ * statutory tables in effect at the end of the period. Amounts are long centavos (see Money).
+ */
+public final class Payslip {
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("MM/dd/yyyy");
+
+    // Columns of the payroll register, see toRegisterRow
+    public static final String[] REGISTER_HEADER = {"Employee ID", "Last Name", "First Name", "Position",
+        "Period Start", "Period End", "Days Present", "Regular Hours", "Overtime Hours", "Tardiness Hours",
+        "Monthly Basic Salary", "Hourly Rate", "Gross Salary", "SSS", "PhilHealth", "Pag-IBIG",
+        "Tardiness Deduction", "Withholding Tax", "Total Deductions", "Net Salary"};
+
+    private final Employee employee;
+    private final LocalDate periodStart;
+    private final LocalDate periodEnd;
+    private final List<AttendanceRecord> attendanceRecords;
+    private final AttendanceSummary attendance;
+    private final long basicSalary;
+    private final long overtimePay;
+    private final long grossSalary;
+    private final long sssDeduction;
+    private final long philhealthDeduction;
+    private final long pagibigDeduction;
+    private final long tardinessDeduction;
+    private final long taxDeduction;
+    private final long totalDeductions;
+    private final long netSalary;
+
+    private Payslip(Employee employee, LocalDate periodStart, LocalDate periodEnd, List<AttendanceRecord> attendanceRecords, AttendanceSummary attendance) {
+        this.employee = employee;
+        this.periodStart = periodStart;
+        this.periodEnd = periodEnd;
+        this.attendanceRecords = attendanceRecords;
+        this.attendance = attendance;
+        this.basicSalary = Money.ofPesos(employee.getSalary());
+        this.overtimePay = Motorphpayrollsystem.calculateOvertimePayCentavos(employee, attendance);
+        this.grossSalary = Motorphpayrollsystem.calculateGrossSalaryCentavos(employee, attendance);
+        this.sssDeduction = Motorphpayrollsystem.calculateSSSContributionCentavos(basicSalary, periodEnd);
+        this.philhealthDeduction = Motorphpayrollsystem.calculatePhilhealthContributionCentavos(basicSalary, periodEnd);
+        this.pagibigDeduction = Motorphpayrollsystem.calculatePagibigContributionCentavos(basicSalary, periodEnd);
+        this.tardinessDeduction = Motorphpayrollsystem.calculateTardinessDeductionCentavos(employee, attendance);
+        long taxableIncome = grossSalary - sssDeduction - philhealthDeduction - pagibigDeduction - tardinessDeduction;
+        this.taxDeduction = Motorphpayrollsystem.calculateWithholdingTaxCentavos(taxableIncome, periodEnd);
+        this.totalDeductions = tardinessDeduction + sssDeduction + philhealthDeduction + pagibigDeduction + taxDeduction;
+        this.netSalary = grossSalary - totalDeductions;
+    }
+
+    // attendanceRecords are the employee's records within the period
+    public static Payslip calculate(Employee employee, LocalDate periodStart, LocalDate periodEnd, List<AttendanceRecord> attendanceRecords) {
+        List<AttendanceRecord> records = Collections.unmodifiableList(attendanceRecords); // Kept for the attendance breakdown shown with the payslip
+        return new Payslip(employee, periodStart, periodEnd, records, AttendanceSummary.of(records));
+    }
+
+    // From the period's totals alone, e.g. AttendanceManager.getSummary; such a payslip has no attendance records
+    public static Payslip calculate(Employee employee, LocalDate periodStart, LocalDate periodEnd, AttendanceSummary attendance) {
+        return new Payslip(employee, periodStart, periodEnd, Collections.emptyList(), attendance);
+    }
+
+    public Employee getEmployee() {
+        return employee;
+    }
+
+    public LocalDate getPeriodStart() {
+        return periodStart;
+    }
+
+    public LocalDate getPeriodEnd() {
+        return periodEnd;
+    }
+
+    public List<AttendanceRecord> getAttendanceRecords() {
+        return attendanceRecords;
+    }
+
+    public AttendanceSummary getAttendance() {
+        return attendance;
+    }
+
+    public long getBasicSalary() {
+        return basicSalary;
+    }
+
+    // Included in the gross salary
+    public long getOvertimePay() {
+        return overtimePay;
+    }
+
+    public long getGrossSalary() {
+        return grossSalary;
+    }
+
+    public long getSssDeduction() {
+        return sssDeduction;
+    }
+
+    public long getPhilhealthDeduction() {
+        return philhealthDeduction;
+    }
+
+    public long getPagibigDeduction() {
+        return pagibigDeduction;
+    }
+
+    public long getTardinessDeduction() {
+        return tardinessDeduction;
+    }
+
+    public long getTaxDeduction() {
+        return taxDeduction;
+    }
+
+    public long getTotalDeductions() {
+        return totalDeductions;
+    }
+
+    public long getNetSalary() {
+        return netSalary;
+    }
+
+    // Converts the payslip to a row of the payroll register, amounts with two decimals
+    public String[] toRegisterRow() {
+        return new String[]{
+            String.valueOf(employee.getEmployeeId()),
+            employee.getLastName(),
+            employee.getFirstName(),
+            employee.getPosition(),
+            periodStart.format(DATE_FORMAT),
+            periodEnd.format(DATE_FORMAT),
+            String.valueOf(attendance.getDaysPresent()),
+            format(attendance.getRegularHours()),
+            format(attendance.getOvertimeHours()),
+            format(attendance.getTardinessHours()),
+            format(employee.getSalary()),
+            format(employee.getHourlyRate()),
+            Money.format(grossSalary),
+            Money.format(sssDeduction),
+            Money.format(philhealthDeduction),
+            Money.format(pagibigDeduction),
+            Money.format(tardinessDeduction),
+            Money.format(taxDeduction),
+            Money.format(totalDeductions),
+            Money.format(netSalary)
+        };
+    }
+
+    private static String format(double value) {
+        return String.format("%.2f", value);
+    }
+}
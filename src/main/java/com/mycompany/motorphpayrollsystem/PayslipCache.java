@@ -0,0 +1,111 @@
+package com.mycompany.motorphpayrollsystem;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Recently computed payslips, so opening the same employee and period again (in ViewProfile,
+ * then PayrollSystemGUI, or by clicking Calculate twice) does not read and sum the attendance
+ * again. Entries are keyed by employee ID, period and the data versions of AttendanceManager
+ * and EmployeeManager at the time they were computed. Any attendance or employee change bumps
+ * a version, so later lookups use a new key and never see a stale payslip; the old entries
+ * simply fall out of the LRU order.
+ */
+public class PayslipCache {
+    private static final int DEFAULT_CAPACITY = 256;
+    private static PayslipCache instance; // Singleton instance
+
+    private final Map<Key, Payslip> payslips;
+    private long hits;
+    private long misses;
+
+    // An employee's payslip for one period, computed from one version of the data
+    private static final class Key {
+        final int employeeId;
+        final LocalDate periodStart;
+        final LocalDate periodEnd;
+        final long attendanceVersion;
+        final long employeeVersion;
+
+        Key(int employeeId, LocalDate periodStart, LocalDate periodEnd, long attendanceVersion, long employeeVersion) {
+            this.employeeId = employeeId;
+            this.periodStart = periodStart;
+            this.periodEnd = periodEnd;
+            this.attendanceVersion = attendanceVersion;
+            this.employeeVersion = employeeVersion;
+        }
+
+        public boolean equals(Object other) {
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) other;
+            return employeeId == key.employeeId && attendanceVersion == key.attendanceVersion && employeeVersion == key.employeeVersion
+                    && periodStart.equals(key.periodStart) && periodEnd.equals(key.periodEnd);
+        }
+
+        public int hashCode() {
+            return Objects.hash(employeeId, periodStart, periodEnd, attendanceVersion, employeeVersion);
+        }
+    }
+
+    PayslipCache(int capacity) {
+        payslips = new LinkedHashMap<Key, Payslip>(16, 0.75f, true) { // Access order, least recently used first
+            protected boolean removeEldestEntry(Map.Entry<Key, Payslip> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    public static synchronized PayslipCache getInstance() {
+        if (instance == null) {
+            instance = new PayslipCache(DEFAULT_CAPACITY);
+        }
+        return instance;
+    }
+
+    /**
+     * Returns the employee's payslip for the period, from the cache if the attendance and
+     * employee data have not changed since it was computed. A payslip with no attendance
+     * records means the employee has none in the period.
+     */
+    public Payslip getPayslip(Employee employee, LocalDate periodStart, LocalDate periodEnd) {
+        AttendanceManager attendanceManager = AttendanceManager.getInstance();
+        // Versions are read before the data, so a change made meanwhile only makes the entry unreachable
+        Key key = new Key(employee.getEmployeeId(), periodStart, periodEnd,
+                attendanceManager.getDataVersion(), EmployeeManager.getInstance().getDataVersion());
+        synchronized (this) {
+            Payslip payslip = payslips.get(key);
+            if (payslip != null) {
+                hits++;
+                return payslip;
+            }
+            misses++;
+        }
+        // Computed outside the lock so a slow month load does not hold up other lookups
+        Payslip payslip = Payslip.calculate(employee, periodStart, periodEnd,
+                attendanceManager.getAttendance(employee.getEmployeeId(), periodStart, periodEnd));
+        synchronized (this) {
+            payslips.put(key, payslip);
+        }
+        return payslip;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized int size() {
+        return payslips.size();
+    }
+
+    public synchronized void clear() {
+        payslips.clear();
+    }
+}
@@ -0,0 +1,135 @@
+package com.mycompany.motorphpayrollsystem;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binary copy of a CSV data file, written next to it (e.g. employees.csv -> employees.bin)
+ * whenever the CSV is saved, so startup can skip CSV parsing.
+ * Layout: [magic int][format version short][type short][payload]. The whole file is read
+ * into a heap buffer with one FileChannel read rather than mapped: a mapped file cannot be
+ * replaced or deleted on Windows until the mapping is garbage collected, and snapshots are
+ * rewritten and removed as the data changes. A snapshot is only used while it is at least as
+ * new as its CSV; a CSV edited by hand is newer and wins.
+ */
+public final class SnapshotFile {
+    public static final short TYPE_ATTENDANCE = 4; // 1 was attendance with minute-precision times, no longer read
+    public static final short TYPE_EMPLOYEES = 2;
+    public static final short TYPE_USERS = 3;
+
+    private static final int MAGIC = 0x4D504853; // "MPHS"
+    private static final short VERSION = 1;
+
+    // Writes the payload of a snapshot after the header
+    public interface Writer {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    private SnapshotFile() {
+    }
+
+    public static String pathFor(String csvFile) {
+        return csvFile.endsWith(".csv") ? csvFile.substring(0, csvFile.length() - 4) + ".bin" : csvFile + ".bin";
+    }
+
+    // True if the CSV has a snapshot that is not older than the CSV itself
+    public static boolean isFresh(String csvFile) {
+        File csv = new File(csvFile);
+        File snapshot = new File(pathFor(csvFile));
+        return csv.exists() && snapshot.exists() && snapshot.lastModified() >= csv.lastModified();
+    }
+
+    public static void write(String csvFile, short type, Writer body) throws IOException {
+        Path target = Paths.get(pathFor(csvFile));
+        Path temp = Paths.get(pathFor(csvFile) + ".tmp");
+        try (FileOutputStream file = new FileOutputStream(temp.toFile());
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 64 * 1024))) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeShort(type);
+            body.write(out);
+            out.flush();
+            file.getFD().sync();
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads the snapshot and returns a buffer positioned at the start of the payload.
+     * The file is closed and free to be replaced when this returns.
+     * Throws IOException if the header does not match the expected type and version.
+     */
+    public static ByteBuffer read(String csvFile, short type) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(Paths.get(pathFor(csvFile)), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot too large: " + pathFor(csvFile));
+            }
+            buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    throw new IOException("Snapshot truncated while reading " + pathFor(csvFile));
+                }
+            }
+        }
+        buffer.flip();
+        if (buffer.remaining() < 8 || buffer.getInt() != MAGIC || buffer.getShort() != VERSION || buffer.getShort() != type) {
+            throw new IOException("Unrecognized snapshot header in " + pathFor(csvFile));
+        }
+        return buffer;
+    }
+
+    // Snapshot of plain CSV rows: [row count int][field count short] then every field as a string
+    public static void writeRows(String csvFile, short type, List<String[]> rows) throws IOException {
+        write(csvFile, type, out -> {
+            out.writeInt(rows.size());
+            for (String[] row : rows) {
+                out.writeShort(row.length);
+                for (String field : row) {
+                    writeString(out, field);
+                }
+            }
+        });
+    }
+
+    public static List<String[]> readRows(String csvFile, short type) throws IOException {
+        ByteBuffer buffer = read(csvFile, type);
+        int count = buffer.getInt();
+        List<String[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String[] row = new String[buffer.getShort()];
+            for (int f = 0; f < row.length; f++) {
+                row[f] = readString(buffer);
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    // Strings are stored as [unsigned short byte length][UTF-8 bytes]
+    public static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = (value == null ? "" : value).getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) {
+            throw new IOException("Value too long for snapshot: " + bytes.length + " bytes");
+        }
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    public static String readString(ByteBuffer buffer) {
+        int length = Short.toUnsignedInt(buffer.getShort());
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
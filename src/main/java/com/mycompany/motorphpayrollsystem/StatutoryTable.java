@@ -0,0 +1,179 @@
+package com.mycompany.motorphpayrollsystem;
+
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvValidationException;
+import java.io.FileReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One version of a contribution or tax table, e.g. statutory/sss_2020-01-01.csv.
+ * Each row is a bracket starting at "Bracket Start" (empty on the first row, meaning no lower
+ * bound). For an amount x in a bracket the result is
+ *     min(Fixed Amount + (x - Excess Over) * Rate, Cap) * Share
+ * with an empty Cap meaning no cap and an empty Share meaning 1. Peso columns are kept as
+ * centavos and Rate and Share as exact scaled integers, so the result is computed exactly and
+ * rounded HALF_UP to the centavo once (see Money). The brackets are kept in sorted primitive
+ * arrays and found by binary search.
+ */
+public final class StatutoryTable {
+
+    // Which table, and whether an amount equal to a bracket start falls in that bracket
+    public enum Kind {
+        SSS("sss", true),                         // "3,250 to 3,749.99"
+        PHILHEALTH("philhealth", false),          // "over 10,000"
+        PAGIBIG("pagibig", true),
+        WITHHOLDING_TAX("withholding_tax", false); // "over 20,833"
+
+        private final String filePrefix;
+        private final boolean startInclusive;
+
+        Kind(String filePrefix, boolean startInclusive) {
+            this.filePrefix = filePrefix;
+            this.startInclusive = startInclusive;
+        }
+
+        public String getFilePrefix() {
+            return filePrefix;
+        }
+    }
+
+    static final String[] HEADER = {"Bracket Start", "Fixed Amount", "Excess Over", "Rate", "Cap", "Share"};
+    private static final long NO_CAP = Long.MAX_VALUE;
+
+    private final Kind kind;
+    private final LocalDate effectiveFrom;
+    private final long[] starts; // Centavos, starts[0] is Long.MIN_VALUE
+    private final long[] fixedAmounts;
+    private final long[] excessOver;
+    private final long[] caps;
+    private final long[] rates; // Rate * rateScale
+    private final long[] shares; // Share * shareScale
+    private long rateScale;
+    private long shareScale;
+
+    private StatutoryTable(Kind kind, LocalDate effectiveFrom, int size) {
+        this.kind = kind;
+        this.effectiveFrom = effectiveFrom;
+        this.starts = new long[size];
+        this.fixedAmounts = new long[size];
+        this.excessOver = new long[size];
+        this.caps = new long[size];
+        this.rates = new long[size];
+        this.shares = new long[size];
+    }
+
+    public static StatutoryTable load(Kind kind, LocalDate effectiveFrom, String fileName) throws IOException {
+        List<String[]> rows = new ArrayList<>();
+        try (CSVReader reader = new CSVReader(new FileReader(fileName))) {
+            String[] nextLine;
+            boolean header = true;
+            while ((nextLine = reader.readNext()) != null) {
+                if (header) {
+                    header = false;
+                    continue;
+                }
+                if (nextLine.length == 1 && nextLine[0].trim().isEmpty()) {
+                    continue; // Blank line
+                }
+                rows.add(nextLine);
+            }
+        } catch (CsvValidationException ex) {
+            throw new IOException("Invalid CSV in " + fileName, ex);
+        }
+        if (rows.isEmpty()) {
+            throw new IOException(fileName + " has no brackets");
+        }
+
+        StatutoryTable table = new StatutoryTable(kind, effectiveFrom, rows.size());
+        BigDecimal[] rates = new BigDecimal[rows.size()];
+        BigDecimal[] shares = new BigDecimal[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            String[] row = rows.get(i);
+            int line = i + 2;
+            if (row.length < 4) {
+                throw new IOException(fileName + " line " + line + ": expected " + String.join(",", HEADER));
+            }
+            try {
+                table.starts[i] = row[0].trim().isEmpty() ? Long.MIN_VALUE : centavos(row[0]);
+                table.fixedAmounts[i] = centavos(row[1]);
+                table.excessOver[i] = centavos(row[2]);
+                rates[i] = new BigDecimal(row[3].trim());
+                table.caps[i] = row.length > 4 && !row[4].trim().isEmpty() ? centavos(row[4]) : NO_CAP;
+                shares[i] = row.length > 5 && !row[5].trim().isEmpty() ? new BigDecimal(row[5].trim()) : BigDecimal.ONE;
+            } catch (NumberFormatException | ArithmeticException ex) {
+                throw new IOException(fileName + " line " + line + ": " + ex.getMessage(), ex);
+            }
+            if ((i == 0) != (table.starts[i] == Long.MIN_VALUE)) {
+                throw new IOException(fileName + " line " + line + ": only the first bracket has an empty Bracket Start");
+            }
+            if (i > 0 && table.starts[i] <= table.starts[i - 1]) {
+                throw new IOException(fileName + " line " + line + ": brackets must be in increasing order");
+            }
+        }
+        table.rateScale = scaleInto(rates, table.rates);
+        table.shareScale = scaleInto(shares, table.shares);
+        return table;
+    }
+
+    // Pesos with up to two decimals, e.g. "10833.33", as centavos
+    private static long centavos(String pesos) {
+        return new BigDecimal(pesos.trim()).movePointRight(2).longValueExact(); // Throws ArithmeticException for fractions of a centavo
+    }
+
+    // Writes values * 10^n into units, with n the most decimals any value has; returns 10^n
+    private static long scaleInto(BigDecimal[] values, long[] units) {
+        int decimals = 0;
+        for (BigDecimal value : values) {
+            decimals = Math.max(decimals, value.stripTrailingZeros().scale());
+        }
+        for (int i = 0; i < values.length; i++) {
+            units[i] = values[i].movePointRight(decimals).longValueExact();
+        }
+        return BigDecimal.ONE.movePointRight(decimals).longValueExact();
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public LocalDate getEffectiveFrom() {
+        return effectiveFrom;
+    }
+
+    // Applies the table to an amount in centavos, result in centavos rounded HALF_UP
+    public long apply(long centavos) {
+        int i = bracket(centavos);
+        long value = Math.addExact(Math.multiplyExact(fixedAmounts[i], rateScale),
+                Math.multiplyExact(centavos - excessOver[i], rates[i])); // Centavos * rateScale, exact
+        if (caps[i] != NO_CAP) {
+            value = Math.min(value, Math.multiplyExact(caps[i], rateScale));
+        }
+        return Money.divideHalfUp(Math.multiplyExact(value, shares[i]), rateScale * shareScale);
+    }
+
+    // Index of the last bracket whose start the amount has reached. The loop always runs
+    // log2(brackets) times and the comparison result only selects the next index, which the JIT
+    // compiles to a conditional move, so unlike an if/else ladder it has no branch to mispredict.
+    private int bracket(long centavos) {
+        int base = 0; // starts[0] is Long.MIN_VALUE, so it always qualifies
+        int size = starts.length;
+        if (kind.startInclusive) {
+            while (size > 1) {
+                int half = size >>> 1;
+                base = starts[base + half] <= centavos ? base + half : base;
+                size -= half;
+            }
+        } else {
+            while (size > 1) {
+                int half = size >>> 1;
+                base = starts[base + half] < centavos ? base + half : base;
+                size -= half;
+            }
+        }
+        return base;
+    }
+}
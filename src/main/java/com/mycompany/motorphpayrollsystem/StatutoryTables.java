@@ -0,0 +1,121 @@
+package com.mycompany.motorphpayrollsystem;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The SSS, PhilHealth, Pag-IBIG and withholding tax tables in the statutory/ directory.
+ * Each version is a file named after its table and the date it takes effect, e.g.
+ * statutory/withholding_tax_2023-01-01.csv, so a rate change is a new file instead of a code
+ * change. A lookup uses the newest version in effect on the given date; dates before the first
+ * version use the first version.
+ * A missing directory, a table file that cannot be read, or a deduction with no table at all is
+ * recorded rather than thrown while loading; entry points call checkLoaded() before paying anyone
+ * so the problem is reported at startup instead of as a failed payslip.
+ */
+public class StatutoryTables {
+    private static final String DIRECTORY = "statutory";
+    // Singleton instance, created when the class is first used so lookups in batch payroll take no lock
+    private static final StatutoryTables instance = new StatutoryTables(DIRECTORY);
+
+    // Per kind (by ordinal): versions sorted by effective date, with the dates as epoch days
+    private final long[][] effectiveDays = new long[StatutoryTable.Kind.values().length][];
+    private final StatutoryTable[][] tables = new StatutoryTable[StatutoryTable.Kind.values().length][];
+    private final List<String> problems = new ArrayList<>(); // Why tables are missing, see checkLoaded
+
+    private StatutoryTables(String directory) {
+        Map<StatutoryTable.Kind, NavigableMap<LocalDate, StatutoryTable>> versions = new EnumMap<>(StatutoryTable.Kind.class);
+        for (StatutoryTable.Kind kind : StatutoryTable.Kind.values()) {
+            versions.put(kind, new TreeMap<>());
+        }
+        loadTables(directory, versions, problems);
+        for (Map.Entry<StatutoryTable.Kind, NavigableMap<LocalDate, StatutoryTable>> kind : versions.entrySet()) {
+            if (kind.getValue().isEmpty()) {
+                problems.add("No " + kind.getKey().getFilePrefix() + " table (expected " + directory + "/" + kind.getKey().getFilePrefix() + "_yyyy-MM-dd.csv)");
+            }
+            int k = kind.getKey().ordinal();
+            effectiveDays[k] = kind.getValue().keySet().stream().mapToLong(LocalDate::toEpochDay).toArray();
+            tables[k] = kind.getValue().values().toArray(new StatutoryTable[0]);
+        }
+    }
+
+    public static StatutoryTables getInstance() {
+        return instance;
+    }
+
+    /**
+     * Throws IllegalStateException, listing every problem, unless all table files were read and
+     * every deduction has a table. A file that could not be read may have been the version in
+     * effect, so payroll does not go on with the others.
+     */
+    public void checkLoaded() {
+        if (!problems.isEmpty()) {
+            throw new IllegalStateException("The statutory tables in " + new File(DIRECTORY).getAbsolutePath()
+                    + " could not be loaded:\n- " + String.join("\n- ", problems));
+        }
+    }
+
+    private static void loadTables(String directory, Map<StatutoryTable.Kind, NavigableMap<LocalDate, StatutoryTable>> versions, List<String> problems) {
+        File[] files = new File(directory).listFiles((dir, name) -> name.matches(".+_\\d{4}-\\d{2}-\\d{2}\\.csv"));
+        if (files == null) {
+            System.err.println("Statutory table directory not found: " + directory);
+            problems.add("Directory " + directory + " not found");
+            return;
+        }
+        int loaded = 0;
+        for (File file : files) {
+            String name = file.getName();
+            String prefix = name.substring(0, name.length() - "_yyyy-MM-dd.csv".length());
+            StatutoryTable.Kind kind = kindFor(prefix);
+            if (kind == null) {
+                System.err.println("Ignoring statutory table for an unknown deduction: " + file.getPath());
+                continue;
+            }
+            try {
+                LocalDate effectiveFrom = LocalDate.parse(name.substring(prefix.length() + 1, name.length() - 4));
+                versions.get(kind).put(effectiveFrom, StatutoryTable.load(kind, effectiveFrom, file.getPath()));
+                loaded++;
+            } catch (DateTimeParseException ex) {
+                System.err.println("Statutory table with an invalid date: " + file.getPath());
+                problems.add(file.getPath() + ": invalid effective date");
+            } catch (IOException ex) {
+                Logger.getLogger(StatutoryTables.class.getName()).log(Level.SEVERE, "Could not load statutory table " + file.getPath(), ex);
+                problems.add(ex.getMessage());
+            }
+        }
+        System.out.println("Statutory tables loaded from " + directory + ": " + loaded + " versions");
+    }
+
+    private static StatutoryTable.Kind kindFor(String prefix) {
+        for (StatutoryTable.Kind kind : StatutoryTable.Kind.values()) {
+            if (kind.getFilePrefix().equals(prefix)) {
+                return kind;
+            }
+        }
+        return null;
+    }
+
+    // The version of a table in effect on the given date
+    public StatutoryTable table(StatutoryTable.Kind kind, LocalDate date) {
+        long[] days = effectiveDays[kind.ordinal()];
+        if (days.length == 0) {
+            throw new IllegalStateException("No " + kind.getFilePrefix() + " table in " + DIRECTORY + "/");
+        }
+        long day = date.toEpochDay();
+        int version = 0;
+        for (int i = 1; i < days.length && days[i] <= day; i++) { // Only a handful of versions, newest last
+            version = i;
+        }
+        return tables[kind.ordinal()][version];
+    }
+}
@@ -0,0 +1,105 @@
+package com.mycompany.motorphpayrollsystem;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only list of deleted IDs kept beside a CSV file (employees.csv -> employees.deleted).
+ * A delete appends one ID instead of rewriting the whole CSV, and rows with a deleted ID are
+ * skipped when the CSV is loaded. The next full save of the CSV leaves those rows out for good
+ * and clears the log.
+ * Each entry is 8 bytes: the ID and its bitwise complement, so a torn or damaged entry is ignored.
+ * Before a save replaces the CSV it appends a saved entry holding the size and CRC32 of the new
+ * file. If the save stops before clearing the log, the CSV then matches that entry and the IDs
+ * before it are not applied again; a CSV that was touched, copied or edited by hand matches no
+ * saved entry, so every deleted ID stays deleted.
+ */
+public class TombstoneLog {
+    private static final int SAVED = Integer.MIN_VALUE; // Not a valid ID, marks a saved entry: [SAVED][~SAVED][long size][long CRC32]
+
+    private final File file;
+    private final File csv;
+
+    public TombstoneLog(String csvFile) {
+        String base = csvFile.endsWith(".csv") ? csvFile.substring(0, csvFile.length() - 4) : csvFile;
+        this.file = new File(base + ".deleted");
+        this.csv = new File(csvFile);
+    }
+
+    // Records a deleted ID, durable once this returns
+    public void append(int id) throws IOException {
+        try (FileOutputStream out = new FileOutputStream(file, true);
+             DataOutputStream data = new DataOutputStream(out)) {
+            data.writeInt(id);
+            data.writeInt(~id);
+            data.flush();
+            out.getFD().sync();
+        }
+    }
+
+    /**
+     * Called with the new CSV, fully written, just before it replaces the old one.
+     * Records its fingerprint so the deleted IDs logged so far are known to be applied once it is in place.
+     */
+    public void markSaved(File newCsv) throws IOException {
+        if (!file.exists()) {
+            return;
+        }
+        byte[] contents = Files.readAllBytes(newCsv.toPath());
+        try (FileOutputStream out = new FileOutputStream(file, true);
+             DataOutputStream data = new DataOutputStream(out)) {
+            data.writeInt(SAVED);
+            data.writeInt(~SAVED);
+            data.writeLong(contents.length);
+            data.writeLong(crc(contents));
+            data.flush();
+            out.getFD().sync();
+        }
+    }
+
+    public Set<Integer> read() throws IOException {
+        Set<Integer> ids = new HashSet<>();
+        if (!file.exists()) {
+            return ids;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+        byte[] csvContents = null; // Read once, the first time a saved entry needs checking
+        while (buffer.remaining() >= 8) {
+            int id = buffer.getInt();
+            if (buffer.getInt() != ~id) {
+                continue;
+            }
+            if (id != SAVED) {
+                ids.add(id);
+            } else if (buffer.remaining() >= 16) {
+                long size = buffer.getLong();
+                long checksum = buffer.getLong();
+                if (csvContents == null) {
+                    csvContents = csv.exists() ? Files.readAllBytes(csv.toPath()) : new byte[0];
+                }
+                if (csvContents.length == size && crc(csvContents) == checksum) {
+                    ids.clear(); // The CSV in place was saved without these rows
+                }
+            }
+        }
+        return ids;
+    }
+
+    // Called after the CSV has been saved without the deleted rows
+    public void clear() throws IOException {
+        Files.deleteIfExists(file.toPath());
+    }
+
+    private static long crc(byte[] contents) {
+        CRC32 crc = new CRC32();
+        crc.update(contents);
+        return crc.getValue();
+    }
+}
@@ -9,6 +9,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import java.io.File;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -22,6 +23,7 @@ public class UserManager {
     private static UserManager instance; // Singleton instance
     private List<User> users;
     private static final String USERS_FILE = "users.csv"; // CSV file for users
+    private final TombstoneLog deletedUsers = new TombstoneLog(USERS_FILE); // users.deleted, employee IDs whose accounts were deleted
 
     // Private constructor for Singleton pattern
     private UserManager() {
@@ -102,6 +104,11 @@ public class UserManager {
             }
         }
 
+        if (loadBinarySnapshot()) {
+            dropDeletedUsers();
+            return;
+        }
+
         try (CSVReader reader = new CSVReader(new FileReader(USERS_FILE))) {
             List<String[]> allRows = reader.readAll();
             if (allRows.isEmpty()) {
@@ -117,34 +124,78 @@ public class UserManager {
                 dataRows = allRows; // No header, all rows are data
             }
 
-            for (String[] row : dataRows) {
-                User user = User.fromCsvArray(row); // User.fromCsvArray now expects 5 fields
-                if (user != null) {
-                    boolean duplicateFound = false;
-                    for (User existingUser : users) {
-                        if (existingUser.getUsername().equalsIgnoreCase(user.getUsername())) {
-                            duplicateFound = true;
-                            System.err.println("Skipping duplicate user during load: " + user.getUsername());
-                            break;
-                        }
-                    }
-                    if (!duplicateFound) {
-                         users.add(user);
-                    }
-                } else {
-                    // Log malformed rows for debugging
-                    System.err.println("Skipping malformed CSV row (User.fromCsvArray returned null or incorrect fields count/format): " + String.join(",", row));
-                }
-            }
+            addLoadedUsers(dataRows);
             System.out.println("Users loaded from " + USERS_FILE + ". Total users: " + users.size());
+            saveBinarySnapshot(dataRows); // Next startup can skip CSV parsing
+            dropDeletedUsers();
         } catch (IOException | CsvException e) {
             Logger.getLogger(UserManager.class.getName()).log(Level.SEVERE, "Error loading users from " + USERS_FILE, e);
         }
     }
 
+    // Loads users from the binary snapshot if it is at least as new as users.csv
+    private boolean loadBinarySnapshot() {
+        if (!SnapshotFile.isFresh(USERS_FILE)) {
+            return false;
+        }
+        try {
+            addLoadedUsers(SnapshotFile.readRows(USERS_FILE, SnapshotFile.TYPE_USERS));
+            System.out.println("Users loaded from " + SnapshotFile.pathFor(USERS_FILE) + ". Total users: " + users.size());
+            return true;
+        } catch (IOException | RuntimeException e) {
+            Logger.getLogger(UserManager.class.getName()).log(Level.WARNING, "User snapshot unreadable, loading " + USERS_FILE + " instead", e);
+            users.clear();
+            return false;
+        }
+    }
+
+    private void addLoadedUsers(List<String[]> dataRows) {
+        for (String[] row : dataRows) {
+            User user = User.fromCsvArray(row); // User.fromCsvArray now expects 5 fields
+            if (user != null) {
+                boolean duplicateFound = false;
+                for (User existingUser : users) {
+                    if (existingUser.getUsername().equalsIgnoreCase(user.getUsername())) {
+                        duplicateFound = true;
+                        System.err.println("Skipping duplicate user during load: " + user.getUsername());
+                        break;
+                    }
+                }
+                if (!duplicateFound) {
+                     users.add(user);
+                }
+            } else {
+                // Log malformed rows for debugging
+                System.err.println("Skipping malformed CSV row (User.fromCsvArray returned null or incorrect fields count/format): " + String.join(",", row));
+            }
+        }
+    }
+
+    // Deleted accounts stay in users.csv until the next full save, so they are skipped here
+    private void dropDeletedUsers() {
+        try {
+            Set<Integer> deleted = deletedUsers.read();
+            if (!deleted.isEmpty()) {
+                users.removeIf(u -> deleted.contains(u.getEmployeeId()));
+            }
+        } catch (IOException e) {
+            Logger.getLogger(UserManager.class.getName()).log(Level.SEVERE, "Error reading deleted accounts", e);
+        }
+    }
+
+    // A missing or stale snapshot only costs a CSV parse at the next startup, so failures are not fatal
+    private void saveBinarySnapshot(List<String[]> rows) {
+        try {
+            SnapshotFile.writeRows(USERS_FILE, SnapshotFile.TYPE_USERS, rows);
+        } catch (IOException e) {
+            Logger.getLogger(UserManager.class.getName()).log(Level.WARNING, "Could not write user snapshot", e);
+        }
+    }
+
      //saves user info to users.csv   
     public void saveUsersToFile() throws IOException {
         String tempFile = USERS_FILE + ".tmp";
+        List<String[]> rows = new ArrayList<>();
         try (CSVWriter writer = new CSVWriter(new FileWriter(tempFile))) {
             // Write header (updated to include FirstName and EmployeeId)
             String[] header = {"Username", "Password", "Role", "FirstName", "Last Name", "EmployeeId"};
@@ -152,12 +203,15 @@ public class UserManager {
 
             // Write user data
             for (User user : users) {
-                writer.writeNext(user.toCsvArray()); // User.toCsvArray now returns 5 elements
+                String[] row = user.toCsvArray(); // User.toCsvArray now returns 5 elements
+                writer.writeNext(row);
+                rows.add(row);
             }
         }
 
         File originalFile = new File(USERS_FILE);
         File temp = new File(tempFile);
+        deletedUsers.markSaved(temp); // Deleted accounts logged so far are not in the new file
 
         if (originalFile.exists() && !originalFile.delete()) {
             String msg = "Failed to delete original user CSV file: " + originalFile.getAbsolutePath();
@@ -171,6 +225,8 @@ public class UserManager {
             throw new IOException(msg);
         } else {
             System.out.println("Users saved to " + USERS_FILE);
+            saveBinarySnapshot(rows); // Written after the CSV so it is never older than it
+            deletedUsers.clear(); // The saved file no longer has the deleted accounts
         }
     }
 
@@ -235,7 +291,7 @@ public class UserManager {
     public boolean deleteUser(int employeeId) throws IOException {
         boolean removed = users.removeIf(e -> e.getEmployeeId() == employeeId);
         if (removed) {
-            saveUsersToFile(); // Save changes after deleting
+            deletedUsers.append(employeeId); // Tombstone instead of rewriting users.csv
             System.out.println("Account of Employee " + employeeId + " deleted successfully.");
         } else {
             System.out.println("Account of Employee " + employeeId + " not found.");
@@ -0,0 +1,48 @@
+package com.mycompany.motorphpayrollsystem;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * AttendanceKernel's loop written with the incubating Vector API. Only loaded when the
+ * jdk.incubator.vector module is present (see AttendanceKernel.isVectorized).
+ * Minutes are loaded as shorts and widened to ints, one int lane per punch, and summed per lane;
+ * the lanes are added into the long totals every BLOCK punches, before an int lane can overflow.
+ */
+final class VectorAttendanceKernel {
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Short> SHORTS = VectorSpecies.of(short.class, VectorShape.forBitSize(INTS.vectorBitSize() / 2)); // Same lane count as INTS
+    private static final int BLOCK = 1 << 20; // Punches per lane sum: 2^20 / lanes * 1440 minutes stays below 2^31
+
+    private VectorAttendanceKernel() {
+    }
+
+    static AttendanceSummary summarize(short[] minuteIn, short[] minuteOut, int from, int to) {
+        long[] totals = new long[3];
+        int lanes = INTS.length();
+        int vectorEnd = from + (to - from) / lanes * lanes;
+        int i = from;
+        while (i < vectorEnd) {
+            int blockEnd = Math.min(vectorEnd, i + BLOCK);
+            IntVector regular = IntVector.zero(INTS);
+            IntVector overtime = IntVector.zero(INTS);
+            IntVector tardy = IntVector.zero(INTS);
+            for (; i < blockEnd; i += lanes) {
+                IntVector in = (IntVector) ShortVector.fromArray(SHORTS, minuteIn, i).convertShape(VectorOperators.S2I, INTS, 0);
+                IntVector out = (IntVector) ShortVector.fromArray(SHORTS, minuteOut, i).convertShape(VectorOperators.S2I, INTS, 0);
+                IntVector worked = out.sub(in).sub(AttendanceKernel.LUNCH_MINUTES);
+                regular = regular.add(worked.min(AttendanceKernel.REGULAR_MINUTES));
+                overtime = overtime.add(worked.sub(AttendanceKernel.REGULAR_MINUTES).max(0));
+                tardy = tardy.add(in.sub(AttendanceKernel.GRACE_PERIOD_MINUTE).max(0));
+            }
+            totals[0] += regular.reduceLanes(VectorOperators.ADD);
+            totals[1] += overtime.reduceLanes(VectorOperators.ADD);
+            totals[2] += tardy.reduceLanes(VectorOperators.ADD);
+        }
+        AttendanceKernel.addScalar(minuteIn, minuteOut, vectorEnd, to, totals); // Rows left over after the last full vector
+        return new AttendanceSummary(totals[0], totals[1], totals[2], to - from);
+    }
+}
@@ -11,7 +11,6 @@ import java.text.MessageFormat; // Import for MessageFormat
 import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
 
 public class ViewProfile extends JFrame {
 
@@ -194,35 +193,31 @@ public class ViewProfile extends JFrame {
         }
 
         try {
-            var allAttendance = AttendanceManager.getInstance().getAllAttendanceRecords();
-
-            var filteredRecords = allAttendance.stream()
-                    .filter(r -> r.getEmployeeId() == employee.getEmployeeId()
-                            && !r.getDate().isBefore(start)
-                            && !r.getDate().isAfter(end))
-                    .collect(Collectors.toList());
+            Payslip payslip = PayslipCache.getInstance().getPayslip(employee, start, end); // Reused until the attendance or employee data changes
+            List<AttendanceRecord> filteredRecords = payslip.getAttendanceRecords();
 
             if (filteredRecords.isEmpty()) {
                 payslipArea.setText("No attendance records found for the selected period.");
                 return;
             }
 
+            AttendanceSummary summary = payslip.getAttendance();
             double basicSalary = employee.getSalary();
             double hourlyRate = employee.getHourlyRate();
-            double totalRegularHours = Motorphpayrollsystem.calculateTotalRenderedHours(filteredRecords);
-            double overtimeHours = Motorphpayrollsystem.calculateTotalOvertimeHours(filteredRecords);
-            double grossSalary = Motorphpayrollsystem.calculateGrossSalary(employee, filteredRecords);
-
-            double tardinessHours = Motorphpayrollsystem.calculateTotalTardiness(filteredRecords);
-            double tardinessDeduction = Motorphpayrollsystem.calculateTotalTardinessDeductions(employee, filteredRecords);
-            double sssDeduction = Motorphpayrollsystem.calculateSSSContribution(basicSalary);
-            double philhealthDeduction = Motorphpayrollsystem.calculatePhilhealthContribution(basicSalary);
-            double pagibigDeduction = Motorphpayrollsystem.calculatePagibigContribution(basicSalary);
-            double taxableIncome = grossSalary - sssDeduction - philhealthDeduction - pagibigDeduction - tardinessDeduction;
-            double taxDeduction = Motorphpayrollsystem.calculateWithholdingTax(taxableIncome);
-            double totalDeductions = Motorphpayrollsystem.round(tardinessDeduction + sssDeduction + philhealthDeduction + pagibigDeduction + taxDeduction);
-
-            double netSalary = Motorphpayrollsystem.round(grossSalary - totalDeductions);
+            double totalRegularHours = summary.getRegularHours();
+            double overtimeHours = summary.getOvertimeHours();
+            double overtimePay = Money.toPesos(payslip.getOvertimePay());
+            double grossSalary = Money.toPesos(payslip.getGrossSalary());
+
+            double tardinessHours = summary.getTardinessHours();
+            double tardinessDeduction = Money.toPesos(payslip.getTardinessDeduction());
+            double sssDeduction = Money.toPesos(payslip.getSssDeduction());
+            double philhealthDeduction = Money.toPesos(payslip.getPhilhealthDeduction());
+            double pagibigDeduction = Money.toPesos(payslip.getPagibigDeduction());
+            double taxDeduction = Money.toPesos(payslip.getTaxDeduction());
+            double totalDeductions = Money.toPesos(payslip.getTotalDeductions());
+
+            double netSalary = Money.toPesos(payslip.getNetSalary());
             
             // Display payslip
             StringBuilder payslipText = new StringBuilder();
@@ -233,7 +228,7 @@ public class ViewProfile extends JFrame {
             payslipText.append(String.format("Hourly Rate: P %.2f%n", hourlyRate));
             payslipText.append(String.format("Total Hours Worked (Regular): %.2f hours%n", totalRegularHours));
             payslipText.append(String.format("Overtime Hours: %.2f hours%n", overtimeHours));
-            payslipText.append(String.format("Overtime Pay: P %.2f%n", (overtimeHours * hourlyRate * 1.25)));
+            payslipText.append(String.format("Overtime Pay: P %.2f%n", overtimePay));
             payslipText.append(String.format("Gross Salary: P %.2f%n", grossSalary));
             payslipText.append("----------------------------------------------------------\n");
             payslipText.append("Deductions:\n");
@@ -0,0 +1,81 @@
+package com.mycompany.motorphpayrollsystem;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH comparison of the date and time parsing of one attendance row: the loader's old path (a new
+ * DateTimeFormatter per field, toUpperCase().trim(), LocalDate/LocalTime.parse) against
+ * AttendanceFieldParser. Build with mvn test-compile, which generates the JMH harness, then run:
+ *     java -cp target/classes:target/test-classes:[opencsv and jmh jars] com.mycompany.motorphpayrollsystem.AttendanceFieldParserBenchmark
+ * Reports ns and allocated bytes per row.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AttendanceFieldParserBenchmark {
+    private static final int ROWS = 5_000;
+
+    private final String[] dates = new String[ROWS];
+    private final String[] times = new String[ROWS];
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < ROWS; i++) {
+            dates[i] = String.format("%02d/%02d/2024", 1 + i % 12, 1 + i % 28);
+            times[i] = (1 + i % 12) + ":" + String.format("%02d", i % 60) + (i % 2 == 0 ? " AM" : " pm");
+        }
+        for (int i = 0; i < ROWS; i++) { // Both paths must read every row the same, or the comparison is meaningless
+            if (!AttendanceFieldParser.parseDate(dates[i]).equals(LocalDate.parse(dates[i], DateTimeFormatter.ofPattern("MM/dd/yyyy")))
+                    || !AttendanceFieldParser.parseTime(times[i]).equals(LocalTime.parse(times[i].toUpperCase().trim(), DateTimeFormatter.ofPattern("h:mm a")))) {
+                throw new IllegalStateException("Parsers disagree on row " + i + ": " + dates[i] + " " + times[i]);
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void formatterPerRow(Blackhole blackhole) {
+        for (int i = 0; i < ROWS; i++) {
+            blackhole.consume(LocalDate.parse(dates[i], DateTimeFormatter.ofPattern("MM/dd/yyyy")));
+            blackhole.consume(LocalTime.parse(times[i].toUpperCase().trim(), DateTimeFormatter.ofPattern("h:mm a")));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void fieldParser(Blackhole blackhole) {
+        for (int i = 0; i < ROWS; i++) {
+            blackhole.consume(AttendanceFieldParser.parseDate(dates[i]));
+            blackhole.consume(AttendanceFieldParser.parseTime(times[i]));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AttendanceFieldParserBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
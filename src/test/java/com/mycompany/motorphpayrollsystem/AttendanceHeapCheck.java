@@ -0,0 +1,82 @@
+package com.mycompany.motorphpayrollsystem;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.PrintWriter;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Heap-footprint check for attendance loading. Generates a 1,000,000-row attendance CSV for 34
+ * employees in a temporary file, loads it with AttendanceCsvLoader, and measures the heap the
+ * loaded records retain (used heap after a forced GC, before and after the load):
+ *     java -Xmx1g -cp target/classes:target/test-classes:[opencsv jars] com.mycompany.motorphpayrollsystem.AttendanceHeapCheck
+ * Fails with status 1 if the records retain more than RETAINED_BUDGET_BYTES, or if the rows do
+ * not share one pair of name strings per employee (see NameDictionary).
+ * With -Xmx110m -Djava.util.concurrent.ForkJoinPool.common.parallelism=1 the whole file is read as
+ * one range; it must still pass, which it only does while ranges are streamed rather than buffered whole.
+ */
+public class AttendanceHeapCheck {
+    private static final int ROWS = 1_000_000;
+    private static final int EMPLOYEES = 34;
+    private static final long RETAINED_BUDGET_BYTES = 64L << 20; // 64 MB, about 67 bytes per row; rows with their own name copies retained about 150 MB
+
+    public static void main(String[] args) throws Exception {
+        File csv = File.createTempFile("attendance-heap", ".csv");
+        csv.deleteOnExit();
+        try (PrintWriter writer = new PrintWriter(new BufferedWriter(new FileWriter(csv)))) {
+            writer.println(String.join(",", AttendanceManager.CSV_HEADER));
+            LocalDate firstDay = LocalDate.of(2000, 1, 1);
+            for (int i = 0; i < ROWS; i++) {
+                int employee = i % EMPLOYEES;
+                LocalDate date = firstDay.plusDays(i / EMPLOYEES);
+                writer.printf("%d,Lastname%d,Firstname%d,%02d/%02d/%d,8:%02d AM,5:%02d PM%n", 10001 + employee, employee, employee,
+                        date.getMonthValue(), date.getDayOfMonth(), date.getYear(), i % 60, (i * 7) % 60);
+            }
+        }
+        AttendanceCsvLoader.load(csv.getPath()); // Warm-up, so class loading and the parser's caches are not counted
+
+        long before = usedHeap();
+        List<AttendanceRecord> records = AttendanceCsvLoader.load(csv.getPath());
+        long retained = usedHeap() - before;
+
+        Set<String> lastNames = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (AttendanceRecord record : records) {
+            lastNames.add(record.getLastName());
+        }
+        System.out.printf("%,d rows retain %,.1f MB (%.1f bytes per row), budget %,d MB; %d distinct last name instances%n",
+                records.size(), retained / 1048576.0, retained / (double) records.size(), RETAINED_BUDGET_BYTES >> 20, lastNames.size());
+
+        if (records.size() != ROWS) {
+            fail("loaded " + records.size() + " rows, expected " + ROWS);
+        }
+        if (lastNames.size() != EMPLOYEES) {
+            fail(lastNames.size() + " distinct last name instances, expected one per employee (" + EMPLOYEES + ")");
+        }
+        if (retained > RETAINED_BUDGET_BYTES) {
+            fail("retained heap over budget");
+        }
+        System.out.println("AttendanceHeapCheck passed");
+    }
+
+    // Used heap after the collector has had several chances to free everything unreachable
+    static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            Thread.sleep(50);
+            used = Math.min(used, runtime.totalMemory() - runtime.freeMemory());
+        }
+        return used;
+    }
+
+    private static void fail(String message) {
+        System.err.println("AttendanceHeapCheck FAILED: " + message);
+        System.exit(1);
+    }
+}
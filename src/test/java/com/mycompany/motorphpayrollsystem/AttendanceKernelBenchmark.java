@@ -0,0 +1,73 @@
+package com.mycompany.motorphpayrollsystem;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH comparison of AttendanceKernel's Vector API path against its scalar fallback, summing
+ * regular, overtime and tardy minutes over 10,000,000 punches. Build with mvn test-compile, which
+ * generates the JMH harness, then run:
+ *     java --add-modules jdk.incubator.vector -cp target/classes:target/test-classes:[opencsv and jmh jars] com.mycompany.motorphpayrollsystem.AttendanceKernelBenchmark
+ * Reports ms per 10,000,000 punches. The vector figure is only meaningful if the setup did not
+ * fail because AttendanceKernel.isVectorized() was false (e.g. -Dmotorph.vector=false).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class AttendanceKernelBenchmark {
+    private static final int PUNCHES = 10_000_000;
+
+    private final short[] minuteIn = new short[PUNCHES];
+    private final short[] minuteOut = new short[PUNCHES];
+
+    @Setup
+    public void setUp() {
+        if (!AttendanceKernel.isVectorized()) {
+            throw new IllegalStateException("AttendanceKernel is on its scalar fallback, there is nothing to compare");
+        }
+        Random random = new Random(3);
+        for (int i = 0; i < PUNCHES; i++) {
+            int in = 420 + random.nextInt(120); // 7:00 to 8:59, so some punches are tardy
+            minuteIn[i] = (short) in;
+            minuteOut[i] = (short) Math.min(1439, in + 480 + random.nextInt(240)); // Some with overtime
+        }
+        AttendanceSummary scalar = AttendanceKernel.summarizeScalar(minuteIn, minuteOut, 0, PUNCHES);
+        AttendanceSummary vector = AttendanceKernel.summarize(minuteIn, minuteOut, 0, PUNCHES);
+        if (scalar.getRegularMinutes() != vector.getRegularMinutes() || scalar.getOvertimeMinutes() != vector.getOvertimeMinutes()
+                || scalar.getTardyMinutes() != vector.getTardyMinutes() || scalar.getDaysPresent() != vector.getDaysPresent()) {
+            throw new IllegalStateException("Vector and scalar kernels disagree");
+        }
+    }
+
+    @Benchmark
+    public AttendanceSummary scalar() {
+        return AttendanceKernel.summarizeScalar(minuteIn, minuteOut, 0, PUNCHES);
+    }
+
+    @Benchmark
+    public AttendanceSummary vector() {
+        return AttendanceKernel.summarize(minuteIn, minuteOut, 0, PUNCHES);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AttendanceKernelBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
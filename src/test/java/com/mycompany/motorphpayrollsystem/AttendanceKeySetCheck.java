@@ -0,0 +1,93 @@
+package com.mycompany.motorphpayrollsystem;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Checks AttendanceKeySet against java.util.HashSet on a random mix of adds, removes and lookups,
+ * then times the duplicate check and insert of a clock-in against histories of 5,000 to 5,000,000 rows:
+ *     java -Xmx1g -cp target/classes:target/test-classes:[opencsv jars] com.mycompany.motorphpayrollsystem.AttendanceKeySetCheck
+ * Each size is timed over PROBES new keys (contains, then add and remove so the size stays put),
+ * best of ROUNDS. The cost may rise a little once the table no longer fits in the CPU caches, but
+ * must not follow the row count: exits with status 1 if 5,000,000 rows cost more than
+ * MAX_SLOWDOWN times 5,000 rows, or if the set ever disagrees with HashSet.
+ */
+public class AttendanceKeySetCheck {
+    private static final int[] HISTORY_SIZES = {5_000, 50_000, 500_000, 5_000_000};
+    private static final int EMPLOYEES = 1_000;
+    private static final int PROBES = 1_000_000;
+    private static final int ROUNDS = 5;
+    private static final double MAX_SLOWDOWN = 10; // A linear scan would be 1,000 times slower
+
+    public static void main(String[] args) {
+        checkAgainstHashSet();
+
+        double[] nanosPerProbe = new double[HISTORY_SIZES.length];
+        for (int s = 0; s < HISTORY_SIZES.length; s++) {
+            int rows = HISTORY_SIZES[s];
+            AttendanceKeySet keys = new AttendanceKeySet();
+            for (int i = 0; i < rows; i++) {
+                keys.add(AttendanceKeySet.key(10000 + i % EMPLOYEES, 19000 + i / EMPLOYEES));
+            }
+            probe(keys); // Warm-up, so the first size is not timed while the JIT is still compiling
+            long best = Long.MAX_VALUE;
+            for (int round = 0; round < ROUNDS; round++) {
+                long start = System.nanoTime();
+                probe(keys);
+                best = Math.min(best, System.nanoTime() - start);
+            }
+            if (keys.size() != rows) {
+                fail(rows + " rows: size changed to " + keys.size());
+            }
+            nanosPerProbe[s] = best / (double) PROBES;
+            System.out.printf("%,10d rows: %6.1f ns per duplicate check and insert%n", rows, nanosPerProbe[s]);
+        }
+
+        double slowdown = nanosPerProbe[nanosPerProbe.length - 1] / nanosPerProbe[0];
+        if (slowdown > MAX_SLOWDOWN) {
+            fail(String.format("%.1fx slower at %,d rows than at %,d", slowdown, HISTORY_SIZES[HISTORY_SIZES.length - 1], HISTORY_SIZES[0]));
+        }
+        System.out.printf("AttendanceKeySetCheck passed: %.1fx from %,d to %,d rows%n", slowdown, HISTORY_SIZES[0], HISTORY_SIZES[HISTORY_SIZES.length - 1]);
+    }
+
+    // What a clock-in does: check the day is not taken yet, then record it (removed again so the size stays put)
+    private static void probe(AttendanceKeySet keys) {
+        for (int i = 0; i < PROBES; i++) {
+            long key = AttendanceKeySet.key(10000 + i % EMPLOYEES, 30000 + i / EMPLOYEES); // Days after the history, never present
+            if (!keys.contains(key)) {
+                keys.add(key);
+                keys.remove(key);
+            }
+        }
+    }
+
+    private static void checkAgainstHashSet() {
+        Random random = new Random(1);
+        AttendanceKeySet keys = new AttendanceKeySet();
+        Set<Long> expected = new HashSet<>();
+        for (int i = 0; i < 2_000_000; i++) {
+            long key = AttendanceKeySet.key(10000 + random.nextInt(300), 19000 + random.nextInt(3000));
+            int op = random.nextInt(3);
+            boolean same;
+            if (op == 0) {
+                same = keys.add(key) == expected.add(key);
+            } else if (op == 1) {
+                same = keys.remove(key) == expected.remove(key);
+            } else {
+                same = keys.contains(key) == expected.contains(key);
+            }
+            if (!same) {
+                fail("differs from HashSet at operation " + i);
+            }
+        }
+        if (keys.size() != expected.size()) {
+            fail("size " + keys.size() + ", HashSet has " + expected.size());
+        }
+    }
+
+    private static void fail(String message) {
+        System.err.println("AttendanceKeySetCheck FAILED: " + message);
+        System.exit(1);
+    }
+}
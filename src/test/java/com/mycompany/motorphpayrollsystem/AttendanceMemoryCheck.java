@@ -0,0 +1,73 @@
+package com.mycompany.motorphpayrollsystem;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.PrintWriter;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Measures the heap per record of AttendanceManager (one AttendanceRecord per punch plus its
+ * indexes) and of ColumnarAttendanceStore holding the same records. Writes a 200,000-row
+ * attendance.csv for 34 employees into the working directory, so run it from an empty one:
+ *     java -Xmx1g -cp target/classes:target/test-classes:[opencsv jars] com.mycompany.motorphpayrollsystem.AttendanceMemoryCheck
+ * Both figures are used heap after a forced GC (see AttendanceHeapCheck.usedHeap), before and after
+ * the records are loaded. Fails with status 1 if the columnar store takes more than
+ * COLUMNAR_BUDGET_BYTES per record, or does not save at least half of what the manager uses.
+ */
+public class AttendanceMemoryCheck {
+    private static final int ROWS = 200_000;
+    private static final int EMPLOYEES = 34;
+    private static final int COLUMNAR_BUDGET_BYTES = 48; // Measured about 42: columns 12, row index 4, the duplicate key set and the slack of doubling arrays
+
+    public static void main(String[] args) throws Exception {
+        if (new File("attendance").exists() || new File("attendance.csv").exists() || new File("attendance.journal").exists()) {
+            System.err.println("Run AttendanceMemoryCheck from an empty directory, it writes attendance files.");
+            System.exit(2);
+        }
+        try (PrintWriter writer = new PrintWriter(new BufferedWriter(new FileWriter("attendance.csv")))) {
+            writer.println(String.join(",", AttendanceManager.CSV_HEADER));
+            LocalDate firstDay = LocalDate.of(2000, 1, 1);
+            for (int i = 0; i < ROWS; i++) {
+                int employee = i % EMPLOYEES;
+                LocalDate date = firstDay.plusDays(i / EMPLOYEES);
+                writer.printf("%d,Lastname%d,Firstname%d,%02d/%02d/%d,8:%02d AM,5:%02d PM%n", 10001 + employee, employee, employee,
+                        date.getMonthValue(), date.getDayOfMonth(), date.getYear(), i % 60, (i * 7) % 60);
+            }
+        }
+        EmployeeManager employeeManager = EmployeeManager.getInstance();
+        AttendanceManager attendanceManager = AttendanceManager.getInstance(); // Splits attendance.csv into monthly files, loads none yet
+
+        long empty = AttendanceHeapCheck.usedHeap();
+        attendanceManager.getAllAttendanceRecords(); // Loads every month, the returned copy is dropped
+        long loaded = AttendanceHeapCheck.usedHeap();
+
+        List<AttendanceRecord> records = attendanceManager.getAllAttendanceRecords();
+        ColumnarAttendanceStore store = ColumnarAttendanceStore.from(records, employeeManager);
+        records = null; // Only the records the manager holds stay reachable
+        long withStore = AttendanceHeapCheck.usedHeap();
+
+        double objectPerRecord = (loaded - empty) / (double) ROWS;
+        double columnarPerRecord = (withStore - loaded) / (double) ROWS;
+        System.out.printf("--- Attendance memory (%,d records, measured) ---%n", store.size());
+        System.out.printf("AttendanceManager:       %6.1f bytes/record (%,.1f MB)%n", objectPerRecord, (loaded - empty) / 1048576.0);
+        System.out.printf("ColumnarAttendanceStore: %6.1f bytes/record (%,.1f MB), budget %d%n", columnarPerRecord, (withStore - loaded) / 1048576.0, COLUMNAR_BUDGET_BYTES);
+
+        if (store.size() != ROWS) {
+            fail("columnar store holds " + store.size() + " records, expected " + ROWS);
+        }
+        if (columnarPerRecord > COLUMNAR_BUDGET_BYTES) {
+            fail("columnar store over budget");
+        }
+        if (columnarPerRecord * 2 > objectPerRecord) {
+            fail("columnar store saves less than half of AttendanceManager's heap");
+        }
+        System.out.println("AttendanceMemoryCheck passed");
+    }
+
+    private static void fail(String message) {
+        System.err.println("AttendanceMemoryCheck FAILED: " + message);
+        System.exit(1);
+    }
+}
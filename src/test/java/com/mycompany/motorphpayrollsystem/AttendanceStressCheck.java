@@ -0,0 +1,185 @@
+package com.mycompany.motorphpayrollsystem;
+
+import java.io.File;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Multi-threaded stress check for AttendanceManager. It writes attendance files into the working
+ * directory, so run it from an empty one:
+ *     java -cp target/classes:target/test-classes:[opencsv jars] com.mycompany.motorphpayrollsystem.AttendanceStressCheck
+ *
+ * Each round, writers race in pairs to add the same (employee, date) keys, another writer adds
+ * records for employees a deleter keeps deleting, and readers query throughout. Afterwards every
+ * contested key must have been added exactly once, no record may appear twice, the running totals
+ * must agree with the records, and reloading from disk must give back exactly what was in memory.
+ * The second round repeats this in write-behind mode. Exits with status 1 on the first failure.
+ */
+public class AttendanceStressCheck {
+    private static final int WRITER_PAIRS = 3;
+    private static final int EMPLOYEES_PER_PAIR = 40;
+    private static final int DELETED_EMPLOYEES = 20;
+    private static final int READERS = 3;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2024, 6, 1);
+    private static final int DAYS = 75; // Spans three monthly partitions
+
+    public static void main(String[] args) throws Exception {
+        if (new File("attendance").exists() || new File("attendance.csv").exists() || new File("attendance.journal").exists()) {
+            System.err.println("Run AttendanceStressCheck from an empty directory, it writes attendance files.");
+            System.exit(2);
+        }
+        AttendanceManager attendanceManager = AttendanceManager.getInstance();
+        long start = System.nanoTime();
+        try {
+            round(attendanceManager, 100_000);
+            attendanceManager.enableWriteBehind(5, 16);
+            round(attendanceManager, 200_000);
+        } catch (IllegalStateException ex) {
+            fail(ex.getMessage());
+        }
+        System.out.printf("AttendanceStressCheck passed in %,.0f ms%n", (System.nanoTime() - start) / 1e6);
+    }
+
+    private static void round(AttendanceManager attendanceManager, int firstEmployeeId) throws Exception {
+        String mode = attendanceManager.isWriteBehindEnabled() ? "write-behind" : "journaled";
+        int contestedEmployees = WRITER_PAIRS * EMPLOYEES_PER_PAIR;
+        int firstDeletedId = firstEmployeeId + contestedEmployees;
+        AtomicInteger added = new AtomicInteger();
+        AtomicInteger readsChecked = new AtomicInteger();
+        AtomicBoolean writing = new AtomicBoolean(true);
+        List<Throwable> failures = new ArrayList<>();
+
+        List<Thread> writers = new ArrayList<>();
+        for (int pair = 0; pair < WRITER_PAIRS; pair++) {
+            int firstId = firstEmployeeId + pair * EMPLOYEES_PER_PAIR;
+            for (int side = 0; side < 2; side++) {
+                boolean reverse = side == 1; // The two writers of a pair meet in the middle
+                writers.add(worker("writer-" + pair + "-" + side, failures, () -> {
+                    for (int n = 0; n < EMPLOYEES_PER_PAIR * DAYS; n++) {
+                        int index = reverse ? EMPLOYEES_PER_PAIR * DAYS - 1 - n : n;
+                        if (attendanceManager.addAttendanceRecord(record(firstId + index % EMPLOYEES_PER_PAIR, FIRST_DAY.plusDays(index / EMPLOYEES_PER_PAIR)))) {
+                            added.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+        }
+        writers.add(worker("deleted-writer", failures, () -> {
+            for (int day = 0; day < DAYS; day++) {
+                for (int e = 0; e < DELETED_EMPLOYEES; e++) {
+                    attendanceManager.addAttendanceRecord(record(firstDeletedId + e, FIRST_DAY.plusDays(day)));
+                }
+            }
+        }));
+        writers.add(worker("deleter", failures, () -> {
+            for (int n = 0; n < DELETED_EMPLOYEES * 5; n++) {
+                attendanceManager.deleteRecord(firstDeletedId + n % DELETED_EMPLOYEES);
+                Thread.sleep(1);
+            }
+        }));
+
+        List<Thread> readers = new ArrayList<>();
+        for (int r = 0; r < READERS; r++) {
+            readers.add(worker("reader-" + r, failures, () -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (writing.get()) {
+                    int employeeId = firstEmployeeId + random.nextInt(contestedEmployees + DELETED_EMPLOYEES);
+                    LocalDate date = FIRST_DAY;
+                    for (AttendanceRecord record : attendanceManager.getAttendance(employeeId, FIRST_DAY, FIRST_DAY.plusDays(DAYS))) {
+                        check(record.getEmployeeId() == employeeId, "getAttendance returned employee " + record.getEmployeeId() + " for " + employeeId);
+                        check(!record.getDate().isBefore(date), "getAttendance out of date order for " + employeeId);
+                        date = record.getDate().plusDays(1); // Also rules out two records on one date
+                    }
+                    AttendanceRecord first = attendanceManager.getEmployeeById(employeeId);
+                    check(first == null || first.getEmployeeId() == employeeId, "getEmployeeById returned employee " + (first == null ? 0 : first.getEmployeeId()));
+                    attendanceManager.hasAttendance(employeeId, FIRST_DAY.plusDays(random.nextInt(DAYS)));
+                    check(attendanceManager.getSummary(employeeId, FIRST_DAY, FIRST_DAY.plusDays(DAYS)).getDaysPresent() <= DAYS, "getSummary counted more days than exist");
+                    readsChecked.incrementAndGet();
+                }
+            }));
+        }
+
+        for (Thread thread : readers) {
+            thread.start();
+        }
+        for (Thread thread : writers) {
+            thread.start();
+        }
+        for (Thread thread : writers) {
+            thread.join();
+        }
+        writing.set(false);
+        for (Thread thread : readers) {
+            thread.join();
+        }
+        if (!failures.isEmpty()) {
+            fail(mode + " round: " + failures.get(0));
+        }
+
+        check(added.get() == contestedEmployees * DAYS, mode + " round: " + added.get() + " contested adds succeeded, expected " + contestedEmployees * DAYS);
+        for (int employeeId = firstEmployeeId; employeeId < firstDeletedId; employeeId++) {
+            check(attendanceManager.getAttendanceByEmployeeId(employeeId).size() == DAYS, mode + " round: employee " + employeeId + " does not have " + DAYS + " records");
+        }
+        for (int employeeId = firstEmployeeId; employeeId < firstDeletedId + DELETED_EMPLOYEES; employeeId++) {
+            check(attendanceManager.getSummary(employeeId, FIRST_DAY, FIRST_DAY.plusDays(DAYS)).getDaysPresent() == attendanceManager.getAttendanceByEmployeeId(employeeId).size(),
+                    mode + " round: running totals of employee " + employeeId + " disagree with the records");
+        }
+        Set<String> inMemory = keys(attendanceManager);
+
+        if (attendanceManager.isWriteBehindEnabled()) {
+            attendanceManager.flush();
+        }
+        attendanceManager.loadAttendanceFromFile();
+        check(keys(attendanceManager).equals(inMemory), mode + " round: records reloaded from disk differ from those that were in memory");
+        System.out.printf("%s round: %,d contested adds, %,d records kept, %,d reads checked%n", mode, added.get(), inMemory.size(), readsChecked.get());
+    }
+
+    private interface Task {
+        void run() throws Exception;
+    }
+
+    private static Thread worker(String name, List<Throwable> failures, Task task) {
+        return new Thread(() -> {
+            try {
+                task.run();
+            } catch (Throwable ex) {
+                synchronized (failures) {
+                    failures.add(ex);
+                }
+            }
+        }, name);
+    }
+
+    private static AttendanceRecord record(int employeeId, LocalDate date) {
+        return new AttendanceRecord(employeeId, "Stress", "Check", date, LocalTime.of(8, employeeId % 30), LocalTime.of(17, date.getDayOfMonth()));
+    }
+
+    // "employee,date" of every record, failing if any record appears twice
+    private static Set<String> keys(AttendanceManager attendanceManager) {
+        List<AttendanceRecord> records = attendanceManager.getAllAttendanceRecords();
+        Set<String> keys = new TreeSet<>();
+        for (AttendanceRecord record : records) {
+            keys.add(record.getEmployeeId() + "," + record.getDate());
+        }
+        check(keys.size() == records.size(), (records.size() - keys.size()) + " duplicate attendance records");
+        return keys;
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalStateException(message);
+        }
+    }
+
+    private static void fail(String message) {
+        System.err.println("AttendanceStressCheck FAILED: " + message);
+        System.exit(1);
+    }
+}
@@ -0,0 +1,110 @@
+package com.mycompany.motorphpayrollsystem;
+
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH comparison of one payslip's arithmetic (gross, tardiness, SSS, PhilHealth, Pag-IBIG,
+ * withholding tax, net) in double with Motorphpayrollsystem.round and the old ladders, against
+ * long centavos with Money and the statutory tables. Build with mvn test-compile, which generates
+ * the JMH harness, then run it in a directory holding statutory/:
+ *     java -cp target/classes:target/test-classes:[opencsv and jmh jars] com.mycompany.motorphpayrollsystem.MoneyBenchmark
+ * Reports ns and allocated bytes per payslip; the centavo path should allocate nothing.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyBenchmark {
+    private static final int PAYSLIPS = 4_096;
+    private static final int EMPLOYEES = 34;
+    private static final LocalDate PAY_DATE = LocalDate.of(2024, 6, 30);
+
+    private final double[] hourlyRate = new double[EMPLOYEES];
+    private final double[] basicSalary = new double[EMPLOYEES];
+    private final long[] hourlyRateCentavos = new long[EMPLOYEES];
+    private final long[] basicSalaryCentavos = new long[EMPLOYEES];
+    private final long[] regularMinutes = new long[PAYSLIPS];
+    private final long[] overtimeMinutes = new long[PAYSLIPS];
+    private final long[] tardyMinutes = new long[PAYSLIPS];
+
+    @Setup
+    public void setUp() {
+        StatutoryTables.getInstance().checkLoaded();
+        Random random = new Random(1);
+        for (int e = 0; e < EMPLOYEES; e++) {
+            basicSalary[e] = 22_500 + random.nextInt(70_000 * 100) / 100.0; // The range of employees.csv
+            hourlyRate[e] = Math.round(basicSalary[e] / 21 / 8 * 100) / 100.0;
+            basicSalaryCentavos[e] = Money.ofPesos(basicSalary[e]);
+            hourlyRateCentavos[e] = Money.ofPesos(hourlyRate[e]);
+        }
+        for (int i = 0; i < PAYSLIPS; i++) {
+            regularMinutes[i] = 8_000 + random.nextInt(2_000);
+            overtimeMinutes[i] = random.nextInt(900);
+            tardyMinutes[i] = random.nextInt(300);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAYSLIPS)
+    public double doubleWithRound() {
+        double total = 0;
+        for (int i = 0; i < PAYSLIPS; i++) {
+            int e = i % EMPLOYEES;
+            double rate = hourlyRate[e];
+            double gross = Motorphpayrollsystem.round(regularMinutes[i] / 60.0 * rate + overtimeMinutes[i] / 60.0 * rate * 1.25);
+            double tardiness = Motorphpayrollsystem.round(tardyMinutes[i] / 60.0 * rate);
+            double sss = StatutoryTableCheck.Ladder.sss(basicSalary[e]);
+            double philhealth = StatutoryTableCheck.Ladder.philhealth(basicSalary[e]);
+            double pagibig = StatutoryTableCheck.Ladder.pagibig(basicSalary[e]);
+            double tax = Motorphpayrollsystem.round(StatutoryTableCheck.Ladder.withholdingTax(gross - sss - philhealth - pagibig - tardiness));
+            double deductions = Motorphpayrollsystem.round(tardiness + sss + philhealth + pagibig + tax);
+            total += Motorphpayrollsystem.round(gross - deductions);
+        }
+        return total;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAYSLIPS)
+    public long centavos() {
+        long total = 0;
+        for (int i = 0; i < PAYSLIPS; i++) {
+            int e = i % EMPLOYEES;
+            long rate = hourlyRateCentavos[e];
+            long basic = basicSalaryCentavos[e];
+            long gross = Motorphpayrollsystem.calculateGrossSalaryCentavos(rate, regularMinutes[i], overtimeMinutes[i], Motorphpayrollsystem.OVERTIME_MULTIPLIER_BASIS_POINTS);
+            long tardiness = Money.multiply(rate, tardyMinutes[i], 60);
+            long sss = Motorphpayrollsystem.calculateSSSContributionCentavos(basic, PAY_DATE);
+            long philhealth = Motorphpayrollsystem.calculatePhilhealthContributionCentavos(basic, PAY_DATE);
+            long pagibig = Motorphpayrollsystem.calculatePagibigContributionCentavos(basic, PAY_DATE);
+            long tax = Motorphpayrollsystem.calculateWithholdingTaxCentavos(gross - sss - philhealth - pagibig - tardiness, PAY_DATE);
+            total += gross - (tardiness + sss + philhealth + pagibig + tax);
+        }
+        return total;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MoneyBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
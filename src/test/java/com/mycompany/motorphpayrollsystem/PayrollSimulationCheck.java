@@ -0,0 +1,85 @@
+package com.mycompany.motorphpayrollsystem;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Checks that PayrollSimulation under today's rules gives exactly the ordinary Payslip figures,
+ * for every employee and every month with attendance. Run it in a directory holding the data
+ * files (a copy, since the first start moves attendance.csv into monthly files):
+ *     java -cp target/classes:target/test-classes:[opencsv jars] com.mycompany.motorphpayrollsystem.PayrollSimulationCheck
+ * Exits with status 1 if any figure differs.
+ */
+public class PayrollSimulationCheck {
+    private static final int MAX_REPORTED = 20;
+
+    private static int mismatches;
+
+    public static void main(String[] args) throws Exception {
+        EmployeeManager employeeManager = EmployeeManager.getInstance();
+        AttendanceManager attendanceManager = AttendanceManager.getInstance();
+        PayrollScenario current = PayrollScenario.current("current");
+
+        TreeSet<YearMonth> months = new TreeSet<>();
+        for (AttendanceRecord record : attendanceManager.getAllAttendanceRecords()) {
+            months.add(YearMonth.from(record.getDate()));
+        }
+        int payslips = 0;
+        for (YearMonth month : months) {
+            LocalDate start = month.atDay(1);
+            LocalDate end = month.atEndOfMonth();
+            PayrollSimulation simulation = new PayrollSimulation(start, end);
+            PayrollSimulation.ScenarioResult total = simulation.simulate(List.of(current)).get(0);
+            long grossSalary = 0;
+            long netSalary = 0;
+            int employeesPaid = 0;
+            for (Employee employee : employeeManager.getEmployees()) {
+                String where = month + " employee " + employee.getEmployeeId();
+                List<AttendanceRecord> records = attendanceManager.getAttendance(employee.getEmployeeId(), start, end);
+                PayrollSimulation.ScenarioResult simulated = simulation.simulateEmployee(current, employee.getEmployeeId());
+                if (records.isEmpty()) {
+                    check(simulated == null, where + ": simulated without attendance");
+                    continue;
+                }
+                if (simulated == null) {
+                    check(false, where + ": has attendance but was not simulated");
+                    continue;
+                }
+                Payslip payslip = Payslip.calculate(employee, start, end, records);
+                compare(where, "gross salary", payslip.getGrossSalary(), simulated.getGrossSalary());
+                compare(where, "overtime pay", payslip.getOvertimePay(), simulated.getOvertimePay());
+                compare(where, "tardiness deduction", payslip.getTardinessDeduction(), simulated.getTardinessDeduction());
+                compare(where, "SSS", payslip.getSssDeduction(), simulated.getSssDeduction());
+                compare(where, "PhilHealth", payslip.getPhilhealthDeduction(), simulated.getPhilhealthDeduction());
+                compare(where, "Pag-IBIG", payslip.getPagibigDeduction(), simulated.getPagibigDeduction());
+                compare(where, "withholding tax", payslip.getTaxDeduction(), simulated.getTaxDeduction());
+                compare(where, "net salary", payslip.getNetSalary(), simulated.getNetSalary());
+                grossSalary += payslip.getGrossSalary();
+                netSalary += payslip.getNetSalary();
+                employeesPaid++;
+                payslips++;
+            }
+            compare(month + " total", "employees paid", employeesPaid, total.getEmployeesPaid());
+            compare(month + " total", "gross salary", grossSalary, total.getGrossSalary());
+            compare(month + " total", "net salary", netSalary, total.getNetSalary());
+        }
+
+        if (mismatches > 0) {
+            System.err.println("PayrollSimulationCheck FAILED: " + mismatches + " figures differ from Payslip");
+            System.exit(1);
+        }
+        System.out.println("PayrollSimulationCheck passed: " + payslips + " payslips in " + months.size() + " months match the simulation");
+    }
+
+    private static void compare(String where, String figure, long expected, long actual) {
+        check(expected == actual, where + ": " + figure + " is " + actual + " in the simulation but " + expected + " on the payslip");
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition && mismatches++ < MAX_REPORTED) {
+            System.err.println(message);
+        }
+    }
+}
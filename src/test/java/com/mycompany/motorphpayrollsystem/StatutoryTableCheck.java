@@ -0,0 +1,208 @@
+package com.mycompany.motorphpayrollsystem;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Checks the statutory tables against the if/else ladders they replaced, for every amount on a
+ * centavo grid: SSS, PhilHealth and Pag-IBIG from -1,000.00 to 200,000.00, withholding tax from
+ * -1,000.00 to 1,000,000.00. Run it in a directory holding statutory/:
+ *     java -cp target/classes:target/test-classes:[opencsv jars] com.mycompany.motorphpayrollsystem.StatutoryTableCheck
+ *
+ * The ladders computed in double and were rounded HALF_UP to the centavo afterwards, the tables
+ * compute exactly (see StatutoryTable), so two kinds of difference are expected and counted
+ * rather than failed:
+ * - ties: the ladder's exact result is half a centavo, which its double lands on either side of;
+ *   the table rounds it up, and the two may differ by that one centavo.
+ * - PhilHealth at 10,000.01 to 10,000.09, which the ladder compared against the float literal
+ *   10000.1f and paid the flat 900.00; the table pays 3% / 2.
+ * Any other difference exits with status 1.
+ */
+public class StatutoryTableCheck {
+    private static final LocalDate LADDER_RATES = LocalDate.of(2020, 1, 1); // The table versions generated from the ladders
+    private static final long FIRST = -100_000; // Centavos
+    private static final long LAST_CONTRIBUTION = 20_000_000;
+    private static final long LAST_TAX = 100_000_000;
+    private static final int MAX_REPORTED = 20;
+
+    private static int failures;
+
+    public static void main(String[] args) {
+        StatutoryTables tables = StatutoryTables.getInstance();
+        tables.checkLoaded();
+        long start = System.nanoTime();
+        compare(tables.table(StatutoryTable.Kind.SSS, LADDER_RATES), LAST_CONTRIBUTION, Ladder::sss);
+        compare(tables.table(StatutoryTable.Kind.PHILHEALTH, LADDER_RATES), LAST_CONTRIBUTION, Ladder::philhealth);
+        compare(tables.table(StatutoryTable.Kind.PAGIBIG, LADDER_RATES), LAST_CONTRIBUTION, Ladder::pagibig);
+        compare(tables.table(StatutoryTable.Kind.WITHHOLDING_TAX, LADDER_RATES), LAST_TAX, Ladder::withholdingTax);
+        if (failures > 0) {
+            System.err.println("StatutoryTableCheck FAILED: " + failures + " amounts differ from the old ladders");
+            System.exit(1);
+        }
+        System.out.printf("StatutoryTableCheck passed in %,.0f ms%n", (System.nanoTime() - start) / 1e6);
+    }
+
+    private interface LadderMethod {
+        double apply(double amount);
+    }
+
+    private static void compare(StatutoryTable table, long last, LadderMethod ladder) {
+        long amounts = 0;
+        long ties = 0;
+        long floatLiterals = 0;
+        for (long centavos = FIRST; centavos <= last; centavos++) {
+            amounts++;
+            double old = ladder.apply(centavos / 100.0);
+            long expected = Money.ofPesos(old);
+            long actual = table.apply(centavos);
+            if (actual == expected) {
+                continue;
+            }
+            if (isTie(old) && Math.abs(actual - expected) == 1) {
+                ties++;
+            } else if (table.getKind() == StatutoryTable.Kind.PHILHEALTH && isFloatLiteralGap(centavos)
+                    && actual == Money.multiply(centavos, 3, 200)) {
+                floatLiterals++;
+            } else if (failures++ < MAX_REPORTED) {
+                System.err.printf("%s(%s): table %s, ladder %s%n", table.getKind().getFilePrefix(), Money.format(centavos), Money.format(actual), Money.format(expected));
+            }
+        }
+        System.out.printf("%-15s %,d amounts: %,d half-centavo ties, %,d float-literal brackets%n", table.getKind().getFilePrefix(), amounts, ties, floatLiterals);
+    }
+
+    // True if the ladder's double is within rounding error of a half centavo
+    private static boolean isTie(double old) {
+        BigDecimal fraction = new BigDecimal(old).movePointRight(2).remainder(BigDecimal.ONE).abs();
+        return fraction.subtract(new BigDecimal("0.5")).abs().compareTo(new BigDecimal("0.000001")) < 0;
+    }
+
+    private static boolean isFloatLiteralGap(long centavos) {
+        return centavos >= 1_000_001 && centavos <= 1_000_009;
+    }
+
+    // The contribution and tax methods of Motorphpayrollsystem before the tables, unchanged (MoneyBenchmark times them too)
+    static final class Ladder {
+
+        static double sss(double basicSalary) {
+            if (basicSalary < 3250) {
+                return 135.00f;
+            } else if (basicSalary >= 3250 && basicSalary < 3750) {
+                return 157.50f;
+            } else if (basicSalary >= 3750 && basicSalary < 4250) {
+                return 180.00f;
+            } else if (basicSalary >= 4250 && basicSalary < 4750) {
+                return 202.50f;
+            } else if (basicSalary >= 4750 && basicSalary < 5250) {
+                return 225.00f;
+            } else if (basicSalary >= 5250 && basicSalary < 5750) {
+                return 247.50f;
+            } else if (basicSalary >= 5750 && basicSalary < 6250) {
+                return 270.00f;
+            } else if (basicSalary >= 6250 && basicSalary < 6750) {
+                return 292.50f;
+            } else if (basicSalary >= 6750 && basicSalary < 7250) {
+                return 315.00f;
+            } else if (basicSalary >= 7250 && basicSalary < 7750) {
+                return 337.50f;
+            } else if (basicSalary >= 7750 && basicSalary < 8250) {
+                return 360.00f;
+            } else if (basicSalary >= 8250 && basicSalary < 8750) {
+                return 382.50f;
+            } else if (basicSalary >= 8750 && basicSalary < 9250) {
+                return 405.00f;
+            } else if (basicSalary >= 9250 && basicSalary < 9750) {
+                return 427.50f;
+            } else if (basicSalary >= 9750 && basicSalary < 10250) {
+                return 450.00f;
+            } else if (basicSalary >= 10250 && basicSalary < 10750) {
+                return 472.50f;
+            } else if (basicSalary >= 10750 && basicSalary < 11250) {
+                return 495.00f;
+            } else if (basicSalary >= 11250 && basicSalary < 11750) {
+                return 517.50f;
+            } else if (basicSalary >= 11750 && basicSalary < 12250) {
+                return 540.00f;
+            } else if (basicSalary >= 12250 && basicSalary < 12750) {
+                return 562.50f;
+            } else if (basicSalary >= 12750 && basicSalary < 13250) {
+                return 585.00f;
+            } else if (basicSalary >= 13250 && basicSalary < 13750) {
+                return 607.50f;
+            } else if (basicSalary >= 13750 && basicSalary < 14250) {
+                return 630.00f;
+            } else if (basicSalary >= 14250 && basicSalary < 14750) {
+                return 652.50f;
+            } else if (basicSalary >= 14750 && basicSalary < 15250) {
+                return 675.00f;
+            } else if (basicSalary >= 15250 && basicSalary < 15750) {
+                return 697.50f;
+            } else if (basicSalary >= 15750 && basicSalary < 16250) {
+                return 720.00f;
+            } else if (basicSalary >= 16250 && basicSalary < 16750) {
+                return 742.50f;
+            } else if (basicSalary >= 16750 && basicSalary < 17250) {
+                return 765.00f;
+            } else if (basicSalary >= 17250 && basicSalary < 17750) {
+                return 787.50f;
+            } else if (basicSalary >= 17750 && basicSalary < 18250) {
+                return 810.00f;
+            } else if (basicSalary >= 18250 && basicSalary < 18750) {
+                return 832.50f;
+            } else if (basicSalary >= 18750 && basicSalary < 19250) {
+                return 855.00f;
+            } else if (basicSalary >= 19250 && basicSalary < 19750) {
+                return 877.50f;
+            } else if (basicSalary >= 19750 && basicSalary < 20250) {
+                return 900.00f;
+            } else if (basicSalary >= 20250 && basicSalary < 20750) {
+                return 922.50f;
+            } else if (basicSalary >= 20750 && basicSalary < 21250) {
+                return 945.00f;
+            } else if (basicSalary >= 21250 && basicSalary < 21750) {
+                return 967.50f;
+            } else if (basicSalary >= 21750 && basicSalary < 22250) {
+                return 990.00f;
+            } else if (basicSalary >= 22250 && basicSalary < 22750) {
+                return 1012.50f;
+            } else if (basicSalary >= 22750 && basicSalary < 23250) {
+                return 1035.00f;
+            } else if (basicSalary >= 23250 && basicSalary < 23750) {
+                return 1057.50f;
+            } else if (basicSalary >= 23750 && basicSalary < 24750) {
+                return 1080.00f;
+            } else {
+                return 1125.00f;
+            }
+        }
+
+        static double withholdingTax(double grossIncome) {
+            if (grossIncome <= 20833) {
+                return 0;
+            } else if (grossIncome <= 33333) {
+                return (grossIncome - 20833) * 0.20;
+            } else if (grossIncome <= 66667) {
+                return 2500 + (grossIncome - 33333) * 0.25;
+            } else if (grossIncome <= 166667) {
+                return 10833.33 + (grossIncome - 66667) * 0.30;
+            } else if (grossIncome <= 666667) {
+                return 40833.33 + (grossIncome - 166667) * 0.32;
+            } else {
+                return 200833.33 + (grossIncome - 666667) * 0.35;
+            }
+        }
+
+        static double philhealth(double basicSalary) {
+            if (basicSalary <= 10000) {
+                return 300f / 2;
+            } else if (basicSalary >= 10000.1f && basicSalary <= 59999.99f) {
+                return (basicSalary * 0.03) / 2;
+            } else {
+                return 1800 / 2;
+            }
+        }
+
+        static double pagibig(double basicSalary) {
+            return Math.min(basicSalary * 0.02, 100);
+        }
+    }
+}